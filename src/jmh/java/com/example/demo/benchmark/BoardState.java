@@ -0,0 +1,108 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.Application;
+import com.example.demo.config.IdSequenceInitializer;
+import com.example.demo.controller.AttachmentController;
+import com.example.demo.controller.PostController;
+import com.example.demo.service.PostService;
+
+/**
+ * 벤치마크 공통 상태. 내장 H2(MySQL 모드)로 애플리케이션을 띄우고 게시물/댓글을 posts 개수만큼 넣어 둔다.
+ * 업로드 파일과 검색 색인은 임시 디렉토리에 만들고 끝나면 지운다.
+ */
+@State(Scope.Benchmark)
+public class BoardState {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    @Param({ "10000", "1000000" })
+    public int posts;
+
+    @Param({ "3" })
+    public int commentsPerPost;
+
+    public ConfigurableApplicationContext context;
+    public PostService postService;
+    public PostController postController;
+    public AttachmentController attachmentController;
+    public Path workDir;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        workDir = Files.createTempDirectory("board-bench");
+        context = new SpringApplicationBuilder(Application.class).run(     // 명령행 인자로 넘겨 다른 설정 파일보다 우선
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.flyway.enabled=false",  // 스키마는 엔티티 선언(같은 인덱스 포함)으로 생성
+                "--server.port=0",
+                "--board.storage.type=local",
+                "--board.storage.root=" + workDir.resolve("uploads"),
+                "--board.search.index-dir=" + workDir.resolve("search-index"),
+                "--board.password.bcrypt.cost=4",  // 시작 시 BCrypt cost 측정 생략
+                "--board.session.store=memory",  // user_sessions 테이블 없음 (H2 스키마는 엔티티로 생성)
+                "--board.search.queue-capacity=1000000",  // 댓글 벤치마크가 만드는 색인 작업이 거절되지 않도록
+                "--logging.level.root=WARN");
+        postService = context.getBean(PostService.class);
+        postController = context.getBean(PostController.class);
+        attachmentController = context.getBean(AttachmentController.class);
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(IdSequenceInitializer.class).synchronize();   // 시드 데이터 이후부터 ID 할당
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    public long randomPostId() {    // 시드 데이터의 ID는 1부터 연속
+        return ThreadLocalRandom.current().nextLong(1, posts + 1);
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        LocalDateTime start = LocalDateTime.now().minusSeconds(posts);
+        List<Object[]> postRows = new ArrayList<>(SEED_BATCH_SIZE);
+        List<Object[]> commentRows = new ArrayList<>(SEED_BATCH_SIZE * commentsPerPost);
+        for (long id = 1; id <= posts; id++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(id));
+            postRows.add(new Object[] { id, "벤치마크 게시물 " + id, "본문 " + id + " ".repeat(10) + "게시판 성능 측정용 내용입니다.", "user" + (id % 100), createdAt });
+            for (int c = 0; c < commentsPerPost; c++) {
+                commentRows.add(new Object[] { (id - 1) * commentsPerPost + c + 1, "댓글 " + c, "user" + c, createdAt, id });
+            }
+            if (postRows.size() == SEED_BATCH_SIZE || id == posts) {
+                jdbc.batchUpdate("INSERT INTO posts (id, title, content, author, views, comment_count, attachment_count, created_at) VALUES (?, ?, ?, ?, 0, " + commentsPerPost + ", 0, ?)", postRows);
+                jdbc.batchUpdate("INSERT INTO comments (id, content, author, created_at, post_id) VALUES (?, ?, ?, ?, ?)", commentRows);
+                postRows.clear();
+                commentRows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import com.example.demo.dto.CommentDTO;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommentBenchmark {
+
+    private final CommentDTO comment = new CommentDTO("벤치마크 댓글");
+
+    @Benchmark
+    public void saveComment(BoardState state) {     // 댓글 저장 + 캐시 무효화 + 색인 이벤트
+        state.postService.saveComment(comment, state.randomPostId(), "bench");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.demo.model.Attachment;
+import com.example.demo.repository.AttachmentRepository;
+import com.example.demo.repository.PostRepository;
+import com.example.demo.storage.AttachmentStorage;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DownloadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class DownloadState {
+
+        @Param({ "4096", "1048576", "16777216" })
+        public int fileSize;
+
+        Long attachmentId;
+
+        @Setup(Level.Trial)
+        public void createAttachment(BoardState board) throws IOException {
+            byte[] content = new byte[fileSize];
+            ThreadLocalRandom.current().nextBytes(content);
+            String savedName = "bench_" + fileSize;
+            Files.write(board.context.getBean(AttachmentStorage.class).resolve(savedName), content);
+            Attachment attachment = board.context.getBean(AttachmentRepository.class).save(Attachment.builder()
+                    .savedName(savedName)
+                    .originalName("bench.bin")
+                    .size((long) fileSize)
+                    .post(board.context.getBean(PostRepository.class).getReferenceById(1L))
+                    .build());
+            attachmentId = attachment.getId();
+        }
+    }
+
+    @Benchmark
+    public int fullDownload(BoardState state, DownloadState download) throws IOException {    // 전체 전송 (응답 본문은 메모리 버퍼)
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        state.attachmentController.DownloadFile(download.attachmentId, new MockHttpServletRequest("GET", "/download"), response);
+        return response.getContentAsByteArray().length;
+    }
+
+    @Benchmark
+    public int rangeDownload(BoardState state, DownloadState download) throws IOException {   // 앞쪽 4 KiB만 (206)
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=0-4095");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        state.attachmentController.DownloadFile(download.attachmentId, request, response);
+        return response.getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.data.domain.Page;
+
+import com.example.demo.dto.PostSummary;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostListBenchmark {
+
+    @Benchmark
+    public Page<PostSummary> firstPage(BoardState state) {     // 앞쪽 페이지 (post-pages 캐시 적중)
+        return state.postService.getPostPage(0, 10);
+    }
+
+    @Benchmark
+    public Page<PostSummary> middlePage(BoardState state) {    // 캐시하지 않는 페이지, OFFSET이 전체의 절반
+        return state.postService.getPostPage(state.posts / 20, 10);
+    }
+}
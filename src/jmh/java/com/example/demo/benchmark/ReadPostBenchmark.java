@@ -0,0 +1,25 @@
+package com.example.demo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.web.context.request.ServletWebRequest;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPostBenchmark {
+
+    @Benchmark
+    public ExtendedModelMap readPost(BoardState state) {   // PostController.ReadPost (상세 조회 + 조회수 증가 + 댓글 조각, 페이지 템플릿 렌더링 제외)
+        ExtendedModelMap model = new ExtendedModelMap();
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/postlist"), new MockHttpServletResponse());   // 조건부 요청 헤더 없음 -> 항상 200 경로
+        state.postController.ReadPost(state.randomPostId(), model, webRequest, null);
+        return model;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.example.demo.dto.StoredFile;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UploadBenchmark {
+
+    @State(Scope.Thread)
+    public static class UploadState {
+
+        @Param({ "4096", "1048576", "16777216" })
+        public int fileSize;
+
+        byte[] content;
+        long sequence;
+
+        @Setup(Level.Trial)
+        public void createContent() {
+            content = new byte[fileSize];
+            ThreadLocalRandom.current().nextBytes(content);
+        }
+
+        MockMultipartFile nextFile() {  // 매번 앞 8바이트를 바꿔 내용(해시)이 겹치지 않게 함
+            ByteBuffer.wrap(content).putLong(0, ++sequence);
+            return new MockMultipartFile("newFiles", "bench.bin", "application/octet-stream", content);
+        }
+    }
+
+    @Benchmark
+    public List<StoredFile> saveFile(BoardState state, UploadState upload) {   // 저장 + SHA-256 계산, 디스크가 차지 않도록 바로 정리 (정리 시간 포함)
+        List<StoredFile> stored = state.postService.saveFiles(List.of(upload.nextFile()));
+        state.postService.discardFiles(stored);
+        return stored;
+    }
+}
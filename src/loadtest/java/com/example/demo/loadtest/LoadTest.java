@@ -0,0 +1,126 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 실행 중인 게시판 서버에 동시 연결 수를 바꿔 가며 부하를 주고 처리량과 지연 시간 분포를 출력한다.
+ * 서버를 플랫폼 스레드(기본)와 가상 스레드(--spring.threads.virtual.enabled=true)로 각각 띄워 같은 설정으로 돌려 비교한다.
+ *
+ * ./gradlew loadTest -Ptarget=http://localhost:8080 -Pconnections=1000,10000 -Pduration=60 -Ppaths=/postlist,/postlist/1
+ * (클라이언트 쪽도 연결마다 가상 스레드 하나, 10k 연결에는 ulimit -n 여유 필요)
+ */
+public class LoadTest {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String target = System.getProperty("loadtest.target", "http://localhost:8080");
+        int[] connections = Arrays.stream(System.getProperty("loadtest.connections", "1000,10000").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.duration", "60")));
+        List<String> paths = List.of(System.getProperty("loadtest.paths", "/postlist,/postlist/1").split(","));
+        String username = System.getProperty("loadtest.username", "loadtest");
+        String password = System.getProperty("loadtest.password", "loadtest");
+
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())     // 로그인 세션을 모든 요청이 공유
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        login(client, target, username, password);
+
+        System.out.println("connections,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms");
+        for (int concurrency : connections) {
+            System.out.println(run(client, target, paths, concurrency, duration));
+        }
+    }
+
+    private static void login(HttpClient client, String target, String username, String password) throws IOException, InterruptedException {
+        String page = client.send(HttpRequest.newBuilder(URI.create(target + "/login")).build(), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF.matcher(page);
+        String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8)
+                + (csrf.find() ? "&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8) : "");
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(target + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (location.contains("error")) {
+            throw new IllegalStateException("로그인 실패: " + username);
+        }
+    }
+
+    private static String run(HttpClient client, String target, List<String> paths, int concurrency, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();     // 연결별 지연 시간 기록 (나노초)
+        List<Future<long[]>> workers = new ArrayList<>();
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int offset = i;
+                workers.add(executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    for (int n = offset; System.nanoTime() < deadline; n++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(target + paths.get(n % paths.size())))
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - begin;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+            for (Future<long[]> worker : workers) {
+                try {
+                    latencies.add(worker.get());
+                } catch (java.util.concurrent.ExecutionException e) {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return String.format("%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f", concurrency, all.length, errors.get(), all.length / seconds,
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 1.0));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.demo.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 비동기 작업용 스레드 풀.
+ * spring.threads.virtual.enabled=true 이면 Tomcat 요청 처리, 스케줄러와 함께 파일 작업도 가상 스레드에서 실행한다
+ * (동시 실행 수와 대기 작업 수를 플랫폼 스레드 풀과 같은 설정으로 제한, 가득 차면 거절). 검색 색인은 Lucene IndexWriter 내부의 synchronized 구간에서 디스크 I/O를 하므로
+ * 가상 스레드의 캐리어 고정(pinning)을 피하기 위해 항상 플랫폼 스레드 풀을 쓴다.
+ */
+@Configuration
+@EnableAsync    // @Async 작업 활성화 (검색 색인 등)
+public class AsyncConfig {
+
+    public static final String FILE_EXECUTOR = "fileTaskExecutor";
+    public static final String SEARCH_EXECUTOR = "searchTaskExecutor";
+    public static final String IMAGE_EXECUTOR = "imageTaskExecutor";
+    public static final String PASSWORD_EXECUTOR = "passwordTaskExecutor";
+
+    @Bean(name = FILE_EXECUTOR)     // 첨부파일 삭제 등 파일 작업용 스레드 풀 (큐 크기 제한)
+    public TaskExecutor fileTaskExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                         @Value("${board.files.pool-size:2}") int poolSize,
+                                         @Value("${board.files.queue-capacity:500}") int queueCapacity) {
+        if (virtualThreads) {
+            return new BoundedVirtualThreadExecutor("file-", poolSize, queueCapacity);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("file-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = SEARCH_EXECUTOR)   // 검색 색인용 스레드 풀 (IndexWriter는 스레드 안전, 큐 크기 제한)
+    public TaskExecutor searchTaskExecutor(@Value("${board.search.pool-size:2}") int poolSize,
+                                           @Value("${board.search.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("search-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());  // 큐가 가득 차면 거절, 요청 스레드에서 색인하지 않음 (SearchIndexer가 미뤄 뒀다가 다시 제출)
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = IMAGE_EXECUTOR)    // 썸네일/미리보기 생성용 스레드 풀 (CPU 작업이므로 가상 스레드 모드에서도 플랫폼 스레드, 큐 크기 제한)
+    public TaskExecutor imageTaskExecutor(@Value("${board.images.pool-size:2}") int poolSize,
+                                          @Value("${board.images.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = PASSWORD_EXECUTOR)     // 비밀번호 해시/비교용 스레드 풀 (CPU 작업, 큐가 가득 차면 거절 → 429)
+    public AsyncTaskExecutor passwordTaskExecutor(@Value("${board.password.pool-size:0}") int poolSize,
+                                                  @Value("${board.password.queue-capacity:100}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();   // 0이면 코어 수
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());  // 요청 스레드에서 대신 실행하지 않음
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 작업마다 새 가상 스레드를 만들되 ThreadPoolTaskExecutor처럼 동작하는 실행기.
+     * SimpleAsyncTaskExecutor의 concurrencyLimit은 한도에 닿으면 제출한 스레드(스케줄러)를 막으므로 쓰지 않고,
+     * 실행 중 + 대기 중 작업이 poolSize + queueCapacity를 넘으면 TaskRejectedException으로 거절한다.
+     * 받아들인 작업은 가상 스레드 안에서 실행 슬롯(poolSize)을 기다린다.
+     */
+    private static class BoundedVirtualThreadExecutor extends SimpleAsyncTaskExecutor {
+
+        private final Semaphore admitted;   // 실행 중 + 대기 중
+        private final Semaphore running;    // 실행 중
+
+        BoundedVirtualThreadExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+            super(threadNamePrefix);
+            this.admitted = new Semaphore(poolSize + queueCapacity);
+            this.running = new Semaphore(poolSize);
+            setVirtualThreads(true);
+            setTaskTerminationTimeout(30_000);
+        }
+
+        @Override
+        protected void doExecute(Runnable task) {
+            if (!admitted.tryAcquire()) {
+                throw new TaskRejectedException("작업 큐가 가득 찼습니다: " + getThreadNamePrefix());
+            }
+            try {
+                super.doExecute(() -> {
+                    try {
+                        running.acquireUninterruptibly();
+                        try {
+                            task.run();
+                        } finally {
+                            running.release();
+                        }
+                    } finally {
+                        admitted.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                admitted.release();
+                throw e;
+            }
+        }
+    }
+}
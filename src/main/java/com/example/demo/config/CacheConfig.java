@@ -0,0 +1,55 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 로컬(Caffeine) 캐시 설정.
+ * 영역별로 board.cache.{영역}.max-size / ttl / record-stats 속성으로 크기, 만료 시간, 적중률 통계를 조정한다.
+ * 쓰기 트랜잭션 안에서의 put/evict는 커밋 이후에 반영된다.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String POSTS = "posts";            // 게시물 상세 (key: 게시물 ID)
+    public static final String POST_PAGES = "post-pages";  // 게시글 목록 앞쪽 페이지
+    public static final String COMMENTS = "comments";      // 게시물별 댓글 (key: 게시물 ID)
+    public static final String USER_DETAILS = "user-details";  // 로그인 인증용 UserDetails (key: 아이디, CopyingUserCache가 복사본만 내줌)
+    public static final String COMMENT_FRAGMENTS = "comment-fragments";  // 렌더링된 댓글 목록 HTML (key: 게시물 ID + 댓글 버전)
+
+    @Bean
+    public CacheManager cacheManager(Environment env) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                region(env, POSTS, 10_000, Duration.ofMinutes(10)),
+                region(env, POST_PAGES, 100, Duration.ofSeconds(30)),
+                region(env, COMMENTS, 10_000, Duration.ofMinutes(10)),
+                region(env, USER_DETAILS, 10_000, Duration.ofMinutes(10)),
+                region(env, COMMENT_FRAGMENTS, 1_000, Duration.ofSeconds(30))));
+        return cacheManager;
+    }
+
+    private Cache region(Environment env, String name, long defaultMaxSize, Duration defaultTtl) {
+        String prefix = "board.cache." + name;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(env.getProperty(prefix + ".max-size", Long.class, defaultMaxSize))
+                .expireAfterWrite(env.getProperty(prefix + ".ttl", Duration.class, defaultTtl));
+        if (env.getProperty(prefix + ".record-stats", Boolean.class, true)) {   // 적중/미스 통계 수집
+            builder.recordStats();
+        }
+        return new TransactionAwareCacheDecorator(new CaffeineCache(name, builder.build()));
+    }
+}
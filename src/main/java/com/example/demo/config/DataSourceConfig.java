@@ -0,0 +1,59 @@
+package com.example.demo.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * 쓰기 풀과 읽기 풀을 나눈다.
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true), Spring Data 기본 조회 메소드)은 읽기 풀에서 커넥션을 받고,
+ * 그 외(쓰기 트랜잭션, 트랜잭션 밖 JdbcTemplate, Flyway)는 쓰기 풀을 쓴다.
+ * LazyConnectionDataSourceProxy는 첫 SQL을 실행할 때 실제 커넥션을 가져오므로 그 시점의 read-only 여부로 풀을 고른다.
+ * 읽기 풀은 board.datasource.read.url로 복제본을 가리킬 수 있고, 지정하지 않으면 같은 DB에 별도 풀을 만든다.
+ * 두 풀 모두 Hikari 빈이라 hikaricp.* 메트릭이 pool 태그(board-write, board-read)로 나뉜다.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")    // 쓰기 풀 설정 (기존 spring.datasource.* 그대로)
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("board.datasource.read.hikari")    // 읽기 풀 설정 (크기, 누수 감지 등)
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+                                           @Value("${board.datasource.read.url:}") String url,
+                                           @Value("${board.datasource.read.username:}") String username,
+                                           @Value("${board.datasource.read.password:}") String password) {
+        DataSourceBuilder<HikariDataSource> builder = properties.initializeDataSourceBuilder().type(HikariDataSource.class);
+        if (!url.isEmpty()) {   // 복제본, 지정하지 않은 값은 쓰기 DB 설정을 따름
+            builder.url(url);
+        }
+        if (!username.isEmpty()) {
+            builder.username(username);
+            builder.password(password);
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @Primary    // JPA, JdbcTemplate, MyBatis, Flyway가 사용하는 DataSource
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.config;
+
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.model.IdGenerators;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * id_sequences의 각 행을 해당 테이블의 MAX(id) 이후로 맞춘다.
+ * AUTO_INCREMENT로 쌓인 기존 데이터나 JDBC로 직접 넣은 행과 새 ID가 겹치지 않게 하기 위함이며, 값은 올리기만 한다.
+ * EntityManagerFactory(스키마 생성)가 준비된 뒤, 첫 INSERT 전에 실행된다.
+ */
+@Slf4j
+@Component
+public class IdSequenceInitializer {
+
+    private static final List<String> TABLES = List.of(IdGenerators.POSTS, IdGenerators.COMMENTS, IdGenerators.ATTACHMENT, IdGenerators.USERS,
+            IdGenerators.ATTACHMENT_DELETIONS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        synchronize();
+    }
+
+    public void synchronize() {     // pooled 생성기는 저장된 값에서 ALLOCATION_SIZE - 1을 뺀 값부터 쓰므로 MAX(id) + ALLOCATION_SIZE 이상이어야 함
+        for (String table : TABLES) {
+            String floor = "(SELECT COALESCE(MAX(id), 0) + " + IdGenerators.ALLOCATION_SIZE + " FROM " + table + ")";
+            Integer exists = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = ?", Integer.class, table);
+            if (exists == null || exists == 0) {
+                try {
+                    jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ")"
+                            + " SELECT ?, COALESCE(MAX(id), 0) + " + IdGenerators.ALLOCATION_SIZE + " FROM " + table, table);
+                } catch (DuplicateKeyException ignored) {
+                    // 다른 인스턴스가 먼저 추가함, 아래 UPDATE로 맞춤
+                }
+            }
+            int raised = jdbcTemplate.update("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = " + floor
+                    + " WHERE " + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < " + floor, table);
+            if (raised > 0) {
+                log.info("ID 생성기 값을 기존 데이터 이후로 조정: {}", table);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+@Configuration
+@PropertySource("classpath:board.properties")   // 기본 설정값 (application.properties, 환경 변수 등으로 덮어쓸 수 있음)
+public class PropertiesConfig {
+}
@@ -0,0 +1,9 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling   // @Scheduled 작업 활성화 (조회수 flush 등)
+public class SchedulingConfig {
+}
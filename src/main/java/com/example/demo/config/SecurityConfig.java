@@ -1,46 +1,129 @@
 package com.example.demo.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
+
+import com.example.demo.security.BCryptCostCalibrator;
+import com.example.demo.security.BoundedPasswordEncoder;
+import com.example.demo.security.CopyingUserCache;
+import com.example.demo.security.PasswordHashingBusyException;
+import com.example.demo.session.SessionStore;
+import com.example.demo.session.StoredSecurityContextRepository;
 
 
 @Configuration  // Spring 설정 클래스임을 나타냄
 @EnableWebSecurity  // Spring Security를 활성화
 @EnableMethodSecurity // 메소드 보안 활성화 (예: @PreAuthorize, @PostAuthorize 등)
 public class SecurityConfig {
+    public static final String CSRF_COOKIE = "XSRF-TOKEN";
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, SecurityContextRepository securityContextRepository,
+                                                   @Value("${board.session.cookie-name:BOARD_SESSION}") String sessionCookie) throws Exception {
+        CookieCsrfTokenRepository csrfTokenRepository = new CookieCsrfTokenRepository();   // HttpOnly, 토큰은 폼/메타 태그로 전달
+        csrfTokenRepository.setCookieName(CSRF_COOKIE);
         http
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))  // HttpSession을 만들지 않음 (인스턴스 간 고정 세션 불필요)
+            .securityContext(context -> context.securityContextRepository(securityContextRepository))  // 로그인 정보는 SessionStore에
+            .csrf(csrf -> csrf.csrfTokenRepository(csrfTokenRepository))  // CSRF 토큰은 쿠키에
+            .requestCache(cache -> cache.requestCache(new NullRequestCache()))  // 로그인 후 항상 "/"로 이동하므로 원래 요청을 저장하지 않음
             .authorizeHttpRequests(auth -> auth // 요청에 대한 권한 설정
                 .requestMatchers("/","/login", "/register", "/health").permitAll()  // 로그인 & 회원가입은 누구나 접근 가능
-                .requestMatchers( "/postlist/**", "/download/**").hasAnyRole("USER", "ADMIN")  // ROLE_USER 또는 ROLE_ADMIN 권한이 필요한 요청
-                .requestMatchers("/userlist/**").hasRole("ADMIN")  // ROLE_ADMIN 권한이 필요한 요청
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()  // 로드밸런서 헬스 체크, Prometheus 수집
+                .requestMatchers("/actuator/**").hasRole("ADMIN")  // 그 외 Actuator 엔드포인트
+                .requestMatchers( "/postlist/**", "/download/**", "/search/**").hasAnyRole("USER", "ADMIN")  // ROLE_USER 또는 ROLE_ADMIN 권한이 필요한 요청
+                .requestMatchers("/userlist/**", "/admin/**").hasRole("ADMIN")  // ROLE_ADMIN 권한이 필요한 요청
                 .anyRequest().authenticated()  // 그 외 요청은 인증 필요
             )
             .formLogin(login -> login   // 폼 로그인 설정
                 .loginPage("/login")  // 커스텀 로그인 페이지 사용
                 .defaultSuccessUrl("/", true)  // 로그인 성공 시 이동할 페이지
-                .failureUrl("/login?error=true")  // 로그인 실패 시 이동할 페이지
+                .failureHandler(loginFailureHandler())  // 로그인 실패 시 /login?error=true, 해시 풀이 가득 차면 429
             )
             .logout(logout -> logout    // 로그아웃 설정
                 .logoutUrl("/logout")  // 로그아웃 URL 설정
                 .logoutSuccessUrl("/")  // 로그아웃 성공 시 이동할 페이지
-                .invalidateHttpSession(true)  // 세션 무효화
-                .deleteCookies("JSESSIONID")  // 쿠키 삭제
+                .deleteCookies(sessionCookie, CSRF_COOKIE)  // 쿠키 삭제 (세션은 저장소에서 삭제됨)
             );
         return http.build();
     }
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();  // 비밀번호 암호화
+    public SecurityContextRepository securityContextRepository(SessionStore sessionStore,
+                                                               @Value("${board.session.cookie-name:BOARD_SESSION}") String sessionCookie) {
+        return new StoredSecurityContextRepository(sessionStore, sessionCookie);
+    }
+
+    private static AuthenticationFailureHandler loginFailureHandler() {
+        AuthenticationFailureHandler failure = new SimpleUrlAuthenticationFailureHandler("/login?error=true");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingBusyException) {    // 비밀번호 오류가 아니므로 로그인 페이지로 보내지 않음
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                return;
+            }
+            failure.onAuthenticationFailure(request, response, exception);
+        };
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Qualifier(AsyncConfig.PASSWORD_EXECUTOR) AsyncTaskExecutor passwordTaskExecutor,
+                                           @Value("${board.password.encoder:bcrypt}") String encodingId,
+                                           @Value("${board.password.bcrypt.cost:0}") int bcryptCost,
+                                           @Value("${board.password.bcrypt.target-ms:250}") long targetMillis) {
+        // cost를 지정하지 않으면 시작 시 측정해 해시 한 번이 목표 시간 안에 끝나는 가장 큰 값 (최소 10)
+        int cost = bcryptCost > 0 ? bcryptCost : BCryptCostCalibrator.calibrate(Duration.ofMillis(targetMillis), 10, 16);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(cost));
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encodingId, encoders);   // 새 해시는 {id} prefix, board.password.encoder=argon2로 전환
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));  // prefix 없는 기존 BCrypt 해시
+        return new BoundedPasswordEncoder(delegating, passwordTaskExecutor);
+    }
+
+    @Bean
+    public UserCache userCache(CacheManager cacheManager) {
+        return new CopyingUserCache(cacheManager.getCache(CacheConfig.USER_DETAILS));  // 로그인마다 users 테이블을 조회하지 않도록 캐시
+    }
+
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, UserDetailsPasswordService userDetailsPasswordService,
+                                                            PasswordEncoder passwordEncoder, UserCache userCache) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);  // 로그인 성공 시 예전 방식(prefix 없음, 낮은 cost, 다른 id) 해시를 다시 저장
+        provider.setUserCache(userCache);  // 캐시된 비밀번호가 맞지 않으면 DB에서 다시 읽어 확인
+        return provider;
     }
 
     @Bean
@@ -0,0 +1,37 @@
+package com.example.demo.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.example.demo.dto.PostImportResult;
+import com.example.demo.service.PostImportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final PostImportService postImportService;
+
+    // 게시물 대량 가져오기 (요청 본문: NDJSON, 한 줄에 게시물 하나), 본문을 메모리에 올리지 않고 스트리밍으로 읽음
+    @PostMapping(value = "/admin/import/posts", consumes = { "application/x-ndjson", "application/json" })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> ImportPosts(@RequestParam(value = "batchSize", required = false) Integer batchSize,
+                                              @RequestParam(value = "reindex", defaultValue = "true") boolean reindex,
+                                              HttpServletRequest request) throws IOException {
+        try {
+            PostImportResult result = postImportService.importPosts(request.getInputStream(), batchSize, reindex);
+            return ResponseEntity.ok("게시물 " + result.getPosts() + "개, 댓글 " + result.getComments() + "개를 가져왔습니다. ("
+                    + result.getElapsedMillis() + "ms)");
+        } catch (IllegalArgumentException e) {  // 형식 오류 (앞선 묶음은 저장된 상태)
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
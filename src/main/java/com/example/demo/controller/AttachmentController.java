@@ -0,0 +1,306 @@
+package com.example.demo.controller;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.demo.model.Attachment;
+import com.example.demo.repository.AttachmentRepository;
+import com.example.demo.service.AttachmentCompressor;
+import com.example.demo.service.AttachmentMetrics;
+import com.example.demo.storage.AttachmentStorage;
+import com.example.demo.storage.Derivative;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 첨부파일 다운로드.
+ * Range(206, multipart/byteranges), ETag / Last-Modified 조건부 요청(304)을 지원하고,
+ * 전체/단일 범위 본문은 Tomcat sendfile이 가능하면 커널에서 소켓으로 바로 보내고(제로 카피),
+ * sendfile을 쓸 수 없거나 다중 범위(multipart/byteranges)이면 FileChannel.transferTo로 ServletOutputStream에 쓴다.
+ * 이 경로는 대상이 소켓 채널이 아니라 출력 스트림을 감싼 채널이므로 JVM 버퍼를 거치는 일반 복사다.
+ * 이미지 첨부파일은 미리 만들어 둔 썸네일/미리보기도 제공하고,
+ * 텍스트류 첨부파일은 클라이언트가 gzip을 받으면 업로드 때 압축해 둔 사본을 보낸다.
+ */
+@Controller
+@RequiredArgsConstructor
+public class AttachmentController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String DERIVATIVE_CACHE_CONTROL = "private, max-age=31536000, immutable";  // 로그인 사용자 전용이므로 공유 캐시에는 저장하지 않음
+
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final AttachmentMetrics attachmentMetrics;
+    private final AttachmentCompressor attachmentCompressor;
+
+    @GetMapping("/download")    // 파일 다운로드
+    public void DownloadFile(@RequestParam("no") Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Timer.Sample sample = attachmentMetrics.start();
+        long sent = 0;
+        try {
+            sent = serve(id, request, response);
+        } finally {
+            if (request.getAttribute(SENDFILE_FILENAME) != null) {  // 본문은 이 메소드가 끝난 뒤 Tomcat이 보냄 -> 넘긴 시점까지만 기록
+                attachmentMetrics.handedToSendfile(sample, sent);
+            } else {
+                attachmentMetrics.downloaded(sample, sent);
+            }
+        }
+    }
+
+    @GetMapping("/download/thumbnail")  // 이미지 썸네일
+    public void DownloadThumbnail(@RequestParam("no") Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serveDerivative(id, Derivative.THUMBNAIL, request, response);
+    }
+
+    @GetMapping("/download/preview")    // 이미지 미리보기
+    public void DownloadPreview(@RequestParam("no") Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serveDerivative(id, Derivative.PREVIEW, request, response);
+    }
+
+    // 파생 파일은 내용 해시로 이름이 정해져 바뀌지 않으므로 브라우저가 오래 캐시하도록 한다
+    private void serveDerivative(Long id, Derivative derivative, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Attachment atta = attachmentRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        String name = derivative == Derivative.THUMBNAIL ? atta.getThumbnailName() : atta.getPreviewName();
+        if (name == null)   // 이미지가 아니거나 아직 생성 전
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        Path path = attachmentStorage.resolve(atta.getSavedName(), derivative);
+        if (!Files.isRegularFile(path) || !Files.isReadable(path))
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        String etag = "\"" + (atta.getContentHash() != null ? atta.getContentHash() : atta.getSavedName()) + derivative.getSuffix() + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, DERIVATIVE_CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+        long length = Files.size(path);
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLengthLong(length);
+        if (!"HEAD".equals(request.getMethod())) {
+            send(request, response, path, 0, length);
+        }
+    }
+
+    private long serve(Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {     // 보낸 본문 바이트 수 반환
+        Attachment atta = attachmentRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        Path path = attachmentStorage.resolve(atta.getSavedName());
+        if (!Files.isRegularFile(path) || !Files.isReadable(path))     // 파일이 존재하지 않거나 읽을 수 없는 경우
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+
+        String etag = "\"" + (atta.getContentHash() != null ? atta.getContentHash() : atta.getSavedName()) + "\"";   // 내용 해시 기반 강한 ETag (해시가 없는 예전 파일은 저장 파일명)
+        boolean gzip = false;
+        if (attachmentCompressor.isCompressible(atta.getOriginalName())) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            Path compressed = request.getHeader(HttpHeaders.RANGE) == null && acceptsGzip(request)   // Range 요청은 원본으로 처리
+                    ? attachmentCompressor.compressedVariant(atta.getSavedName()) : null;
+            if (compressed != null) {   // 미리 압축해 둔 사본을 그대로 전송
+                path = compressed;
+                gzip = true;
+                etag = etag.substring(0, etag.length() - 1) + Derivative.GZIP.getSuffix() + "\"";   // 표현이 다르므로 ETag도 구분
+            }
+        }
+        long length = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return 0;   // If-None-Match / If-Modified-Since 일치 -> 304
+        }
+
+        String header = URLEncoder.encode(atta.getOriginalName(), StandardCharsets.UTF_8)   // 파일 이름을 UTF-8로 인코딩
+                            .replace("+","%20");    // 공백을 %20으로 변환 (브라우저 호환성 문제 해결)
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + header + "\"; filename*=UTF-8''" + header);    // 브라우저가 파일을 직접 열지 않고 다운로드하도록 설정
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");     // Range는 원본(identity) 표현에만 적용
+        String contentType = MediaTypeFactory.getMediaType(atta.getOriginalName())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        boolean head = "HEAD".equals(request.getMethod());
+
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");  // Tomcat은 Content-Encoding이 있으면 다시 압축하지 않음
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (head) {
+                return 0;
+            }
+            send(request, response, path, 0, length);
+            return length;
+        }
+
+        List<long[]> ranges = requestedRanges(request, etag, lastModified, length);
+        if (ranges == null) {   // Range 요청이 아니거나 If-Range 불일치 -> 전체 전송
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (head) {
+                return 0;
+            }
+            send(request, response, path, 0, length);
+            return length;
+        }
+        if (ranges.isEmpty()) {     // 만족할 수 있는 범위가 없음
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return 0;
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        if (ranges.size() == 1) {   // 단일 범위
+            long[] range = ranges.get(0);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(range, length));
+            response.setContentLengthLong(range[1] - range[0] + 1);
+            if (head) {
+                return 0;
+            }
+            send(request, response, path, range[0], range[1] - range[0] + 1);
+            return range[1] - range[0] + 1;
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();     // 다중 범위 -> multipart/byteranges (sendfile 불가, 스트림 복사)
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        if (head) {
+            return 0;
+        }
+        long sent = 0;
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (long[] range : ranges) {
+                out.write(("\r\n--" + boundary + "\r\n"
+                        + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                        + HttpHeaders.CONTENT_RANGE + ": " + contentRange(range, length) + "\r\n\r\n")
+                        .getBytes(StandardCharsets.US_ASCII));
+                transfer(channel, range[0], range[1] - range[0] + 1, target);
+                sent += range[1] - range[0] + 1;
+            }
+            out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        }
+        return sent;
+    }
+
+    // 요청된 범위 목록 ([시작, 끝] 포함), Range를 무시해야 하면 null, 만족 가능한 범위가 없으면 빈 리스트
+    private List<long[]> requestedRanges(HttpServletRequest request, String etag, long lastModified, long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (!ifRange.equals(etag)) {    // 리소스가 바뀌었으면 전체 전송
+                    return null;
+                }
+            } else {
+                try {
+                    if (lastModified / 1000 > request.getDateHeader(HttpHeaders.IF_RANGE) / 1000) {
+                        return null;
+                    }
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+
+        List<HttpRange> httpRanges;
+        try {
+            httpRanges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {  // 형식 오류 또는 범위가 너무 많음
+            return new ArrayList<>();
+        }
+        List<long[]> ranges = new ArrayList<>();
+        long total = 0;
+        for (HttpRange httpRange : httpRanges) {
+            long start = httpRange.getRangeStart(length);
+            long end = httpRange.getRangeEnd(length);
+            if (start >= length || start > end) {   // 만족할 수 없는 범위는 제외
+                continue;
+            }
+            ranges.add(new long[] { start, end });
+            total += end - start + 1;
+        }
+        if (total > length) {   // 겹치는 범위로 파일보다 많이 요청하면 거부
+            return new ArrayList<>();
+        }
+        return ranges;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {   // Accept-Encoding에 gzip이 있고 q=0이 아닌지
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static String contentRange(long[] range, long length) {
+        return "bytes " + range[0] + "-" + range[1] + "/" + length;
+    }
+
+    private void send(HttpServletRequest request, HttpServletResponse response, Path path, long start, long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {   // Tomcat sendfile (커널에서 바로 소켓으로 전송)
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {    // 출력 스트림으로 복사 (제로 카피 아님)
+            transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private static void transfer(FileChannel source, long position, long count, WritableByteChannel target) throws IOException {
+        long end = position + count;
+        while (position < end) {
+            long sent = source.transferTo(position, end - position, target);
+            if (sent <= 0) {    // 전송 중 파일이 잘린 경우
+                break;
+            }
+            position += sent;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.demo.controller;
 
 import org.springframework.stereotype.Controller;
+import com.example.demo.service.CommentFragmentService;
+import com.example.demo.service.PostDetailService;
 import com.example.demo.service.PostService;
+import com.example.demo.service.ViewCountService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -10,28 +13,30 @@ import com.example.demo.model.Post;
 import org.springframework.validation.BindingResult;
 import jakarta.validation.Valid;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.core.io.UrlResource;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.util.WebUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import jakarta.servlet.http.Cookie;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
-import com.example.demo.repository.CommentRepository;
+import com.example.demo.config.SecurityConfig;
 import com.example.demo.model.Attachment;
-import com.example.demo.model.Comment;
 import com.example.demo.dto.CommentDTO;
+import com.example.demo.dto.CommentPage;
+import com.example.demo.dto.PostDetailView;
+import com.example.demo.dto.PostSlice;
+import com.example.demo.dto.PostSummary;
+import com.example.demo.dto.PostVersion;
 import com.example.demo.dto.PostDTO;
-import com.example.demo.repository.AttachmentRepository;
+import com.example.demo.dto.StoredFile;
 
-import java.net.MalformedURLException;
-import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Path;
-import java.net.URLEncoder;
 
 
 @Controller
@@ -39,31 +44,81 @@ import java.net.URLEncoder;
 public class PostController {
     
     private final PostService postService;
-    private final CommentRepository commentRepository;
-    private final AttachmentRepository attachmentRepository;
+    private final PostDetailService postDetailService;
+    private final ViewCountService viewCountService;
+    private final CommentFragmentService commentFragmentService;
+
+    private static final String PAGE_CACHE_CONTROL = "private, no-cache";	// 브라우저에 저장하되 매번 ETag로 재검증
 
     @GetMapping("/postlist")	// 포스트 리스트 불러오기
-    public String PostList(@RequestParam(value = "page", defaultValue = "0") int page, Model model) {
-        Page<Post> postPage = postService.getPostPage(page, 10);	// 페이지 번호, 한 페이지당 글 수
-        model.addAttribute("postPage", postPage);	// 포스트 리스트 가져오기
+    public String PostList(@RequestParam(value = "page", required = false) Integer page,
+                           @RequestParam(value = "cursor", required = false) String cursor,
+                           @RequestParam(value = "dir", defaultValue = "next") String dir,
+                           @RequestParam(value = "sort", required = false) String sort,
+                           Model model, ServletWebRequest webRequest) {
+        if ("discussed".equals(sort)) {	// 댓글 많은 순 (페이지 번호 방식)
+            Page<PostSummary> postPage = postService.getDiscussedPage(page != null ? page : 0, 10);
+            if (notModified(webRequest, listEtag(postPage.getContent(), postPage.getNumber() + ":" + postPage.getTotalElements()))) {
+                return null;
+            }
+            model.addAttribute("postPage", postPage);
+            model.addAttribute("sort", sort);
+            return "postlist";
+        }
+        if (page != null) {	// 페이지 번호 방식 (총 페이지 수는 캐시된 게시물 수로 계산)
+            Page<PostSummary> postPage = postService.getPostPage(page, 10);	// 페이지 번호, 한 페이지당 글 수
+            if (notModified(webRequest, listEtag(postPage.getContent(), postPage.getNumber() + ":" + postPage.getTotalElements()))) {
+                return null;
+            }
+            model.addAttribute("postPage", postPage);	// 포스트 리스트 가져오기
+            return "postlist";
+        }
+
+        PostSlice postSlice;
+        try {
+            postSlice = postService.getPostSlice(cursor, "prev".equals(dir), 10);	// 커서 방식 (OFFSET, count 쿼리 없음)
+        } catch (IllegalArgumentException e) {	// 잘못된 커서 토큰
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        if (notModified(webRequest, listEtag(postSlice.getContent(), postSlice.getPrevCursor() + ":" + postSlice.getNextCursor()))) {
+            return null;
+        }
+        model.addAttribute("postSlice", postSlice);
         return "postlist";
     }
 
     @GetMapping("/postlist/{id}")	// 포스트 읽기
-    public String ReadPost(@PathVariable("id") Long id, Model model) {
-        Post post = postService.getPostById(id);
-        post.setViews(post.getViews() + 1);	// 조회수 증가
-        postService.savePost(post);	// 조회수 업데이트
+    public String ReadPost(@PathVariable("id") Long id, Model model, ServletWebRequest webRequest, @AuthenticationPrincipal UserDetails principal) {
+        PostVersion version = postDetailService.getPostVersion(id);	// 게시물/댓글/첨부 변경 여부만 확인 (컬렉션을 읽지 않음)
+        long pendingViews = viewCountService.increment(id);	// 조회수 증가 (주기적으로 DB에 일괄 반영)
 
-        List<Comment> comments = commentRepository.findByPostId(id);    // 댓글 리스트 가져오기
+        // 수정/삭제 버튼과 CSRF 토큰이 사용자(세션)마다 다르므로 검증값에 포함, 조회수는 제외 (304면 이전 조회수가 보임)
+        String etag = weakEtag(version + "|" + viewer(principal, webRequest));
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, PAGE_CACHE_CONTROL);
+        // Last-Modified는 모든 사용자에게 같으므로 보내지 않음 (If-Modified-Since만으로 다른 사용자의 페이지가 304로 재사용되지 않도록)
+        if (webRequest.checkNotModified(etag)) {
+            return null;	// 304, 템플릿 렌더링 없음
+        }
 
+        PostDetailView post = postDetailService.getPostDetail(id);	// 게시물 + 댓글 + 첨부파일 (고정 쿼리 3개)
         model.addAttribute("post", post);
-        model.addAttribute("comments", comments);    // 댓글 리스트 추가
+        model.addAttribute("views", post.getViews() + pendingViews);	// 아직 반영되지 않은 조회수 포함
+        model.addAttribute("commentsHtml", commentFragmentService.render(id, post.getComments()));    // 댓글 목록 (렌더링 결과 캐시)
         model.addAttribute("commentDTO", new CommentDTO());    // 댓글 작성 폼을 위한 객체 추가
 
         return "readpost";
     }
 
+    @GetMapping("/postlist/{id}/comments")	// 댓글 이어서 읽기 (JSON, 상세 페이지에서 스크롤 시 호출)
+    @ResponseBody
+    public CommentPage Comments(@PathVariable("id") Long id, @RequestParam(value = "cursor", required = false) String cursor) {
+        try {
+            return postDetailService.getComments(id, cursor);
+        } catch (IllegalArgumentException e) {	// 잘못된 커서 토큰
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
     @GetMapping("/postlist/new")    // 포스트 작성 창 불러오기
     public String PostForm(Model model) {
         model.addAttribute("post", new PostDTO());
@@ -87,7 +142,13 @@ public class PostController {
         }
 
         String author = principal.getUsername();
-        postService.createPost(postdto, author, newFiles);
+        List<StoredFile> storedFiles = postService.saveFiles(newFiles);	// 트랜잭션 시작 전에 파일부터 저장
+        try {
+            postService.createPost(postdto, author, storedFiles);
+        } catch (RuntimeException e) {	// DB 저장 실패 시 저장한 파일 정리
+            postService.discardFiles(storedFiles);
+            throw e;
+        }
 
         return ResponseEntity.status(HttpStatus.CREATED).body("게시물이 작성되었습니다.");
     }
@@ -135,7 +196,7 @@ public class PostController {
                            @RequestParam(value = "newFiles", required = false) List<MultipartFile> newFiles,
                            @AuthenticationPrincipal UserDetails principal) {
         // 작성자 체크
-        if (!postService.getPostById(id).getAuthor().equals(principal.getUsername()) && !principal.getUsername().equals("admin")) {
+        if (!principal.getUsername().equals("admin") && !postService.isAuthor(id, principal.getUsername())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("잘못된 접근입니다.");
         }
         if (result.hasErrors()) {	// 유효성 검사 실패
@@ -147,15 +208,21 @@ public class PostController {
             newFiles = new ArrayList<>();
         }
 
-        // 서비스에서 수정 로직 처리
-        postService.updatePost(id, postdto, deleteAttachmentIds, newFiles);
+        // 서비스에서 수정 로직 처리 (파일은 트랜잭션 시작 전에 저장)
+        List<StoredFile> storedFiles = postService.saveFiles(newFiles);
+        try {
+            postService.updatePost(id, postdto, deleteAttachmentIds, storedFiles);
+        } catch (RuntimeException e) {	// DB 저장 실패 시 저장한 파일 정리
+            postService.discardFiles(storedFiles);
+            throw e;
+        }
         return ResponseEntity.ok("게시물이 수정되었습니다.");
     }
     
 
     @DeleteMapping("/postlist/{id}")	// 포스트 삭제
     public String DeletePost(@PathVariable("id") long id, @AuthenticationPrincipal UserDetails principal) {
-        if (!postService.getPostById(id).getAuthor().equals(principal.getUsername()) && !principal.getUsername().equals("admin")) {	// 작성자 체크
+        if (!principal.getUsername().equals("admin") && !postService.isAuthor(id, principal.getUsername())) {	// 작성자 체크
             return "redirect:/postlist?error=unauthorized";	// 권한 없으면 목록으로
         }
         postService.deletePost(id);	// 포스트 삭제
@@ -177,24 +244,31 @@ public class PostController {
         return "redirect:/postlist/" + id;	// 포스트 읽기 페이지로 리다이렉트
     }
 
-    @GetMapping("/download")    // 파일 다운로드
-    public ResponseEntity<Resource> DownloadFile(@RequestParam("no") Long id) {
-        Attachment atta = attachmentRepository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        Path path = Paths.get("uploads").resolve(atta.getSavedName());
-        Resource res;   // 실제로 클라이언트가 다운로드할 파일
-        try {
-            res = new UrlResource(path.toUri());    // UrlResource는 URL을 통해 리소스를 읽어오는 Resource 구현체
-        } catch (MalformedURLException e) {   // URL 형식이 잘못된 경우
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "파일 경로가 올바르지 않습니다.", e);
-        }
-        if (!res.exists() || !res.isReadable())     // 파일이 존재하지 않거나 읽을 수 없는 경우
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
-
-        String header = URLEncoder.encode(atta.getOriginalName(), StandardCharsets.UTF_8)   // 파일 이름을 UTF-8로 인코딩
-                            .replace("+","%20");    // 공백을 %20으로 변환 (브라우저 호환성 문제 해결)
-        return ResponseEntity.ok()  // 200 OK 응답
-                .header(HttpHeaders.CONTENT_DISPOSITION,    // Content-Disposition 헤더 설정
-                        "attachment; filename=\"" + header + "\"; filename*=UTF-8''" + header)  // attachment = 브라우저가 파일을 직접 열지 않고 다운로드하도록 설정, filename = 다운로드할 파일 이름 설정 (UTF-8 인코딩)
-                .body(res);
+    private static boolean notModified(ServletWebRequest webRequest, String etag) {	// 목록 페이지 조건부 요청 (사용자와 무관한 내용)
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, PAGE_CACHE_CONTROL);
+        return webRequest.checkNotModified(etag);
+    }
+
+    private static String listEtag(List<PostSummary> posts, String position) {	// 목록에 표시되는 값으로 계산
+        StringBuilder sb = new StringBuilder(position);
+        for (PostSummary post : posts) {
+            sb.append('|').append(post.getId()).append(':').append(post.getTitle()).append(':').append(post.getAuthor())
+                    .append(':').append(post.getCreatedAt()).append(':').append(post.getViews())
+                    .append(':').append(post.getCommentCount()).append(':').append(post.getAttachmentCount());
+        }
+        return weakEtag(sb.toString());
+    }
+
+    private static String viewer(UserDetails principal, ServletWebRequest webRequest) {	// 사용자 + 권한 + CSRF 토큰 (페이지에 포함됨, 쿠키에 저장)
+        Cookie csrf = WebUtils.getCookie(webRequest.getRequest(), SecurityConfig.CSRF_COOKIE);
+        String token = csrf != null ? csrf.getValue() : "";
+        if (principal == null) {
+            return "anonymous:" + token;	// 로그인하지 않아도 페이지의 CSRF 토큰은 쿠키마다 다름
+        }
+        return principal.getUsername() + ":" + principal.getAuthorities() + ":" + token;
+    }
+
+    private static String weakEtag(String value) {	// 같은 내용이어도 CSRF 토큰 마스킹으로 바이트가 달라지므로 약한 ETag
+        return "W/\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 }
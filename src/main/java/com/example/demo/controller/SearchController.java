@@ -0,0 +1,49 @@
+package com.example.demo.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.demo.dto.SearchResult;
+import com.example.demo.search.SearchIndex;
+import com.example.demo.search.SearchIndexer;
+
+import lombok.RequiredArgsConstructor;
+
+@Controller
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchIndex searchIndex;
+    private final SearchIndexer searchIndexer;
+
+    @GetMapping("/search")	// 제목, 본문, 댓글 검색 (관련도순)
+    public String Search(@RequestParam(value = "q", required = false) String q,
+                         @RequestParam(value = "page", defaultValue = "0") int page,
+                         Model model) {
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 페이지입니다.");
+        }
+        SearchResult result;
+        try {
+            result = searchIndex.search(q, page, 10);
+        } catch (IllegalArgumentException e) {	// 해석할 수 없는 검색어
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        model.addAttribute("q", q);
+        model.addAttribute("result", result);
+        return "search";
+    }
+
+    @PostMapping("/search/reindex")	// 전체 재색인 (백그라운드 실행)
+    @PreAuthorize("hasRole('ADMIN')")
+    public String Reindex() {
+        searchIndexer.reindexAll();
+        return "redirect:/search?reindex=started";
+    }
+}
@@ -2,6 +2,9 @@ package com.example.demo.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.BindingResult;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
@@ -9,15 +12,25 @@ import org.springframework.ui.Model;
 import com.example.demo.dto.RegisterDTO;
 import com.example.demo.service.UserService;
 import com.example.demo.dto.LoginDTO;
-import jakarta.transaction.Transactional;
+import com.example.demo.dto.UserSlice;
+import com.example.demo.security.PasswordHashingBusyException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
+@Slf4j
 @Controller
 @RequiredArgsConstructor
-@Transactional
 public class UserController {
 
   private final UserService UserService;
+  private final ObjectMapper objectMapper;
 
   @GetMapping("/register")	// 유저 등록 창 불러오기
   public String ShowRegister(Model model) {
@@ -26,7 +39,8 @@ public class UserController {
   }
 
   @PostMapping("/register")	// 유저 등록
-  public String Register(@ModelAttribute("RegisterDTO") @Valid RegisterDTO RegisterDTO, BindingResult result, Model model) {
+  public String Register(@ModelAttribute("RegisterDTO") @Valid RegisterDTO RegisterDTO, BindingResult result, Model model,
+                         HttpServletResponse response) {
     if (result.hasErrors()) {  // 유효성 검사 실패
         return "register";
     }
@@ -35,16 +49,78 @@ public class UserController {
     } catch (IllegalArgumentException e) {   // 예외 처리
         model.addAttribute("error", e.getMessage());
         return "register";
+    } catch (PasswordHashingBusyException e) {   // 비밀번호 해시 풀이 가득 참
+        hashingBusy(response, model);
+        return "register";
     }
     return "redirect:/postlist";
   }
 
-  @GetMapping("/userlist")	// 유저 리스트 불러오기
-  public String ShowUserList(Model model) {
-    model.addAttribute("UserlistDTO", UserService.getUserListDTO());
+  @GetMapping("/userlist")	// 유저 리스트 불러오기 (아이디/이메일 접두어 검색, after 다음부터 한 페이지)
+  public String ShowUserList(@RequestParam(value = "q", required = false) String q,
+                             @RequestParam(value = "by", defaultValue = "username") String by,
+                             @RequestParam(value = "after", required = false) String after, Model model) {
+    boolean byEmail = "email".equals(by);
+    UserSlice slice = UserService.getUserSlice(q, byEmail, after);
+    model.addAttribute("UserlistDTO", slice.getContent());
+    model.addAttribute("nextAfter", slice.getNextAfter());
+    model.addAttribute("q", q);
+    model.addAttribute("by", byEmail ? "email" : "username");
     return "userlist";
   }
 
+  @GetMapping("/userlist/export")	// 유저 전체 내보내기 (csv, json), 한 행씩 응답에 바로 씀
+  public void ExportUsers(@RequestParam(value = "format", defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+    boolean json = "json".equals(format);
+    response.setContentType(json ? "application/json" : "text/csv");
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(json ? "users.json" : "users.csv").build().toString());
+    Writer writer = response.getWriter();
+    long count;
+    if (json) {
+      JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);   // 응답 writer는 닫지 않음
+      generator.writeStartArray();
+      count = UserService.exportUsers(user -> {
+        try {
+          generator.writeStartObject();
+          generator.writeNumberField("id", user.getId());
+          generator.writeStringField("username", user.getUsername());
+          generator.writeStringField("email", user.getEmail());
+          generator.writeEndObject();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      generator.writeEndArray();
+      generator.flush();
+    } else {
+      writer.write("id,username,email\r\n");
+      count = UserService.exportUsers(user -> {
+        try {
+          writer.write(user.getId() + "," + csv(user.getUsername()) + "," + csv(user.getEmail()) + "\r\n");
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+    writer.flush();
+    log.info("유저 내보내기 완료: format={}, count={}", json ? "json" : "csv", count);
+  }
+
+  private static String csv(String value) {   // CSV 필드 이스케이프, 스프레드시트 수식으로 해석되지 않도록 앞에 ' 추가
+    if (value == null) {
+      return "";
+    }
+    if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+      value = "'" + value;
+    }
+    if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+
   @GetMapping("/userlist/{id}")	// 유저 수정 창 불러오기
   public String EditForm(@PathVariable("id") Long id, Model model) {
     model.addAttribute("user", UserService.getUserDTOById(id));
@@ -52,17 +128,21 @@ public class UserController {
   }
 
   @PostMapping("/userlist/{id}")	// 유저 수정
-  public String EditUser(@PathVariable("id") Long id, @ModelAttribute("user") @Valid RegisterDTO RegisterDTO, BindingResult result, Model model) {
+  public String EditUser(@PathVariable("id") Long id, @ModelAttribute("user") @Valid RegisterDTO RegisterDTO, BindingResult result, Model model,
+                         HttpServletResponse response) {
     if (result.hasErrors()) {  // 유효성 검사 실패
-        result.getAllErrors().forEach(error -> System.out.println(error.getDefaultMessage()));  // 에러 메시지 출력
+        result.getAllErrors().forEach(error -> log.debug("유저 수정 유효성 검사 실패: {}", error.getDefaultMessage()));  // 에러 메시지 출력
         return "edituser";
     }
     try {
-      System.out.println("Updating user with ID: " + RegisterDTO.getId()); // 업데이트할 ID 확인
+      log.debug("유저 수정: id={}", RegisterDTO.getId()); // 업데이트할 ID 확인
       UserService.updateUser(RegisterDTO);	// 유저 수정
     } catch (IllegalArgumentException e) {   // 예외 처리
         model.addAttribute("error", e.getMessage());
         return "edituser";
+    } catch (PasswordHashingBusyException e) {   // 비밀번호 해시 풀이 가득 참
+        hashingBusy(response, model);
+        return "edituser";
     }
     return "redirect:/userlist";
   }
@@ -74,6 +154,12 @@ public class UserController {
     return ResponseEntity.ok().build(); // HTTP 200 반환
   }
 
+  private static void hashingBusy(HttpServletResponse response, Model model) {   // 입력값은 그대로 두고 429 + Retry-After로 폼을 다시 보여 줌
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    model.addAttribute("error", "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도하세요.");
+  }
+
   @GetMapping("/login")   // 로그인 페이지 불러오기
   public String LoginForm(@RequestParam(value = "error", required = false) String error, Model model) {
     model.addAttribute("LoginDTO", new LoginDTO());
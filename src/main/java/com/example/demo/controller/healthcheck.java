@@ -1,13 +1,28 @@
 package com.example.demo.controller;
 
 import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 @RestController
+@RequiredArgsConstructor
 public class healthcheck {
-    @GetMapping("/health")
+
+    private final HealthEndpoint healthEndpoint;
+
+    @GetMapping("/health")  // 기존 경로 유지, /actuator/health/readiness (DB, 업로드 디렉토리) 결과를 따름
     public ResponseEntity<?> healthCheck() {
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        if (readiness == null || !Status.UP.equals(readiness.getStatus())) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Health Check Failed");
+        }
         return ResponseEntity.ok("Success Health Check");
     }
 }
@@ -0,0 +1,6 @@
+package com.example.demo.dto;
+
+public interface AttachmentFileView {   // 첨부파일 ID와 저장 파일명만 조회 (파일 정리용)
+    Long getId();
+    String getSavedName();
+}
@@ -0,0 +1,8 @@
+package com.example.demo.dto;
+
+public interface AttachmentView {   // 첨부파일 조회용 프로젝션
+    Long getId();
+    String getOriginalName();
+    String getThumbnailName();  // 이미지 썸네일이 있으면 파일명, 없으면 null
+    String getPreviewName();
+}
@@ -0,0 +1,23 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CommentPage {  // 댓글 이어서 읽기 (JSON)
+    private List<Item> comments;
+    private String nextCursor;  // 다음 페이지 토큰, 마지막이면 null
+
+    @Getter
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private String author;
+        private String content;
+        private LocalDateTime createdAt;
+    }
+}
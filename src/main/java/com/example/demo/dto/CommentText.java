@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+public interface CommentText {  // 검색 색인용 댓글 내용
+    Long getId();
+    Long getPostId();
+    String getContent();
+}
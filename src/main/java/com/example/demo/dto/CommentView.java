@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+public interface CommentView {  // 댓글 조회용 프로젝션 (게시물 엔티티를 함께 로딩하지 않음)
+    Long getId();
+    String getContent();
+    String getAuthor();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+}
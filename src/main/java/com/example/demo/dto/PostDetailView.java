@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class PostDetailView {   // 게시물 상세 페이지용 읽기 모델
+    private Long id;
+    private String title;
+    private String content;
+    private String author;
+    private int views;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private int commentCount;
+    private List<CommentView> comments;   // 첫 댓글 페이지 (나머지는 /postlist/{id}/comments로 이어서 읽음)
+    private String nextCommentCursor;     // 다음 댓글 페이지 토큰, 없으면 null
+    private List<AttachmentView> attachments;   // 첨부파일 리스트
+}
@@ -0,0 +1,35 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PostImportRecord {     // 대량 가져오기 한 줄 (NDJSON), 게시물 + 댓글
+    private String title;
+    private String content;
+    private String author;
+    private int views;
+    private LocalDateTime createdAt;    // 없으면 가져온 시각
+    private LocalDateTime updatedAt;
+    private List<CommentRecord> comments = new ArrayList<>();
+
+    public void setComments(List<CommentRecord> comments) {    // "comments": null은 댓글 없음으로
+        this.comments = comments != null ? comments : new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class CommentRecord {
+        private String content;
+        private String author;
+        private LocalDateTime createdAt;    // 없으면 게시물 작성 시각
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostImportResult {     // 대량 가져오기 결과
+    private long posts;
+    private long comments;
+    private long elapsedMillis;
+}
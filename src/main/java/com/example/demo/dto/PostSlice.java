@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostSlice {    // 커서 방식 게시글 목록 (count 쿼리 없음)
+    private List<PostSummary> content;
+    private String prevCursor;  // 이전(더 최신) 페이지 토큰, 없으면 null
+    private String nextCursor;  // 다음(더 오래된) 페이지 토큰, 없으면 null
+
+    public boolean hasPrevious() {
+        return prevCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
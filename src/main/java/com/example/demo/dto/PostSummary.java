@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+public interface PostSummary {  // 게시글 목록 한 줄용 프로젝션 (본문, 컬렉션 제외)
+    Long getId();
+    String getTitle();
+    String getAuthor();
+    LocalDateTime getCreatedAt();
+    int getViews();
+    long getCommentCount();     // 댓글 수
+    long getAttachmentCount();  // 첨부파일 수
+}
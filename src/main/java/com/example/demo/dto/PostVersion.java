@@ -0,0 +1,39 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import lombok.Getter;
+
+@Getter
+public class PostVersion {  // 상세 페이지 조건부 요청용 검증값 (본문, 컬렉션을 읽지 않는 단일 쿼리 결과)
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final int commentCount;
+    private final int attachmentCount;
+    private final LocalDateTime lastCommentAt;  // 마지막 댓글 작성/수정/삭제 시각 (posts.last_comment_at), 없으면 null
+    private final long thumbnailCount;          // 썸네일이 만들어진 첨부파일 수 (생성되면 페이지가 바뀜)
+
+    public PostVersion(LocalDateTime createdAt, LocalDateTime updatedAt, int commentCount, int attachmentCount,
+                       LocalDateTime lastCommentAt, Long thumbnailCount) {
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.commentCount = commentCount;
+        this.attachmentCount = attachmentCount;
+        this.lastCommentAt = lastCommentAt;
+        this.thumbnailCount = thumbnailCount != null ? thumbnailCount : 0;
+    }
+
+    public long getLastModified() {     // Last-Modified (epoch millis)
+        LocalDateTime latest = updatedAt != null && updatedAt.isAfter(createdAt) ? updatedAt : createdAt;
+        if (lastCommentAt != null && lastCommentAt.isAfter(latest)) {
+            latest = lastCommentAt;
+        }
+        return latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public String toString() {
+        return createdAt + "|" + updatedAt + "|" + commentCount + "|" + attachmentCount + "|" + lastCommentAt + "|" + thumbnailCount;
+    }
+}
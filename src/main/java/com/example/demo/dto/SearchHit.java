@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class SearchHit {    // 검색 결과 한 건
+    private Long postId;
+    private String title;       // 검색어가 강조된 제목 (HTML 이스케이프 완료)
+    private String snippet;     // 검색어 주변 본문/댓글 일부 (HTML 이스케이프 완료)
+    private String author;
+    private LocalDateTime createdAt;
+    private float score;        // 관련도 점수
+}
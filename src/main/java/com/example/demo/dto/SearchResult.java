@@ -0,0 +1,23 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchResult {     // 관련도순 검색 결과 한 페이지
+    private List<SearchHit> hits;
+    private long totalHits;
+    private int page;
+    private int size;
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+
+    public boolean hasNext() {
+        return (long) (page + 1) * size < totalHits;
+    }
+}
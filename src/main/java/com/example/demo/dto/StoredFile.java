@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class StoredFile {   // 디스크에 저장된 업로드 파일 정보 (DB 트랜잭션 전에 생성)
+    private String savedName;    // 저장된 파일명
+    private String originalName; // 원본 파일명
+    private long size;           // 파일 크기 (byte)
+    private String contentHash;  // SHA-256 (hex)
+}
@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserSlice {    // 관리자 유저 목록 한 페이지 (count 쿼리 없음)
+    private List<UserlistDTO> content;
+    private String nextAfter;   // 다음 페이지 시작 위치 (마지막 아이디 또는 이메일), 없으면 null
+
+    public boolean hasNext() {
+        return nextAfter != null;
+    }
+}
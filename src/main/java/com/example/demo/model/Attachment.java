@@ -1,10 +1,16 @@
 package com.example.demo.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -12,6 +18,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(indexes = @Index(name = "idx_attachment_saved_name", columnList = "saved_name"))  // 저장 파일 참조 여부 확인
 @Getter
 @Setter
 @Builder
@@ -19,12 +26,21 @@ import lombok.Setter;
 @AllArgsConstructor
 public class Attachment {
     @Id
-    @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.ATTACHMENT)
+    @TableGenerator(name = IdGenerators.ATTACHMENT, table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = IdGenerators.ATTACHMENT, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     private String savedName;   // 저장된 파일명 (UUID 등으로 생성된 이름)
     private String originalName; // 원본 파일명
+    private Long size;          // 파일 크기 (byte)
 
-    @ManyToOne
+    @Column(length = 64)
+    private String contentHash; // 파일 내용의 SHA-256 (hex)
+
+    private String thumbnailName;   // 이미지 썸네일 파일명 (생성 전이거나 이미지가 아니면 null)
+    private String previewName;     // 이미지 미리보기 파일명
+
+    @ManyToOne(fetch = FetchType.LAZY)  // 필요할 때만 게시물 로딩
     @JoinColumn(name = "post_id")
     private Post post; // 첨부파일이 속한 게시물
 }
@@ -0,0 +1,37 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 파일 삭제 대기열 (outbox). 첨부파일 행을 지우는 트랜잭션 안에서 함께 저장되고,
+ * 커밋된 뒤 AttachmentDeletionWorker가 실제 파일을 지운다.
+ */
+@Entity
+@Table(name = "attachment_deletions")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentDeletion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.ATTACHMENT_DELETIONS)  // 게시물 삭제 시 첨부파일 수만큼의 INSERT를 batch로
+    @TableGenerator(name = IdGenerators.ATTACHMENT_DELETIONS, table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = IdGenerators.ATTACHMENT_DELETIONS, allocationSize = IdGenerators.ALLOCATION_SIZE)
+    private Long id;
+    private String savedName;   // 삭제할 저장 파일명
+    private LocalDateTime createdAt;
+    private int attempts;       // 삭제 시도 횟수
+}
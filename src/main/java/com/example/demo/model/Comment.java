@@ -1,10 +1,15 @@
 package com.example.demo.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -14,6 +19,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity(name="comments") // 테이블 이름
+@Table(indexes = @Index(name = "idx_comments_post_created_at", columnList = "post_id, created_at"))  // 게시물별 댓글 (작성순)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -21,7 +27,9 @@ import lombok.Setter;
 @Builder
 public class Comment {
     @Id
-    @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.COMMENTS)
+    @TableGenerator(name = IdGenerators.COMMENTS, table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = IdGenerators.COMMENTS, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "댓글을 입력하세요.")
@@ -31,7 +39,9 @@ public class Comment {
 
     private LocalDateTime createdAt;
 
-    @ManyToOne  // 다대일 관계 설정 (댓글 : 포스트)
+    private LocalDateTime updatedAt;    // 마지막 수정 시각 (수정한 적 없으면 null)
+
+    @ManyToOne(fetch = FetchType.LAZY)  // 다대일 관계 설정 (댓글 : 포스트)
     @JoinColumn(name = "post_id")   // 외래 키 설정 (post_id)
     private Post post; // 참조할 테이블
 }
@@ -0,0 +1,24 @@
+package com.example.demo.model;
+
+/**
+ * 엔티티 ID 생성 설정. IDENTITY는 INSERT마다 키를 돌려받아야 해서 Hibernate가 INSERT를 JDBC batch로 묶지 못하므로,
+ * id_sequences 테이블에서 ALLOCATION_SIZE개씩 미리 할당받는 pooled 테이블 생성기를 쓴다 (MySQL에는 시퀀스가 없음).
+ * 기존 AUTO_INCREMENT 데이터와 겹치지 않도록 시작 시 IdSequenceInitializer가 각 행을 MAX(id) 이후로 맞춘다.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_sequences";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;  // hibernate.jdbc.batch_size와 맞춤
+
+    // 생성기 이름 (id_sequences.sequence_name 값), 엔티티 테이블 이름과 같음
+    public static final String POSTS = "posts";
+    public static final String COMMENTS = "comments";
+    public static final String ATTACHMENT = "attachment";
+    public static final String USERS = "users";
+    public static final String ATTACHMENT_DELETIONS = "attachment_deletions";
+
+    private IdGenerators() {
+    }
+}
@@ -11,11 +11,16 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.List;
 
 @Getter
@@ -25,9 +30,16 @@ import java.util.List;
 @AllArgsConstructor
 @EqualsAndHashCode
 @Entity(name="posts")   //테이블 이름
+@Table(indexes = {   // 스키마는 Flyway(db/migration)가 관리, ddl-auto로 만들 때도 같은 인덱스가 생기도록 선언
+    @Index(name = "idx_posts_comment_count", columnList = "comment_count, id"),   // 댓글 많은 순 정렬
+    @Index(name = "idx_posts_created_at", columnList = "created_at, id"),         // 최신순 목록, 커서 페이지
+    @Index(name = "idx_posts_author_created_at", columnList = "author, created_at")   // 작성자별 게시물
+})
 public class Post {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.POSTS)
+    @TableGenerator(name = IdGenerators.POSTS, table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = IdGenerators.POSTS, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "제목을 입력하세요.")
@@ -38,8 +50,20 @@ public class Post {
     
     private String author;
 
+    @Column(updatable = false)  // 조회수는 ViewCountService가 일괄 UPDATE로만 반영 (엔티티 저장 시 덮어쓰지 않음)
     private int views;
 
+    @ColumnDefault("0")
+    @Column(updatable = false)  // 댓글 수, PostRepository.adjustCommentCount로만 변경
+    private int commentCount;
+
+    @ColumnDefault("0")
+    @Column(updatable = false)  // 첨부파일 수, PostRepository.adjustAttachmentCount로만 변경
+    private int attachmentCount;
+
+    @Column(updatable = false)  // 마지막 댓글 작성/수정/삭제 시각, PostRepository.adjustCommentCount / touchLastCommentAt으로만 변경
+    private LocalDateTime lastCommentAt;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -7,6 +7,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -25,7 +27,9 @@ import jakarta.validation.constraints.Email;
 public class User {
   
   @Id  //기본키 = userid
-  @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.USERS)
+  @TableGenerator(name = IdGenerators.USERS, table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+          valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = IdGenerators.USERS, allocationSize = IdGenerators.ALLOCATION_SIZE)
   private long id;
 
   @Column(unique = true)  //아이디 중복 방지
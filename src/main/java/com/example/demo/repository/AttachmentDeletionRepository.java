@@ -0,0 +1,11 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AttachmentDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface AttachmentDeletionRepository extends JpaRepository<AttachmentDeletion, Long> {
+    List<AttachmentDeletion> findTop100ByOrderByIdAsc();   // 오래된 삭제 요청부터 100건
+}
@@ -1,10 +1,27 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.AttachmentFileView;
+import com.example.demo.dto.AttachmentView;
 import com.example.demo.model.Attachment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 
 @Repository
 public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+    List<AttachmentView> findByPostIdOrderByIdAsc(Long postId);   // 포스트 ID로 첨부파일 조회
+    boolean existsBySavedName(String savedName);   // 저장 파일을 참조하는 첨부파일이 있는지
 
+    @Transactional
+    @Modifying
+    @Query("update Attachment a set a.thumbnailName = :thumbnailName, a.previewName = :previewName where a.id = :id")
+    int updateDerivatives(@Param("id") Long id, @Param("thumbnailName") String thumbnailName, @Param("previewName") String previewName);   // 이미지 파생 파일 기록
+
+    Slice<AttachmentFileView> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);   // ID 순으로 저장 파일명 조회 (keyset)
 }
@@ -1,11 +1,38 @@
 package com.example.demo.repository;
 
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.CommentText;
+import com.example.demo.dto.CommentView;
 import com.example.demo.model.Comment;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByPostId(Long postId); // 포스트 ID로 댓글 조회
+    String VIEW_SELECT = "select c.id as id, c.content as content, c.author as author, c.createdAt as createdAt, c.updatedAt as updatedAt"
+            + " from comments c where c.post.id = :postId";  // 댓글 목록용 컬럼
+    // 캐시 키는 게시물 ID뿐이므로 (댓글 쓰기 시 게시물 ID로 비움) 첫 페이지를 기본 크기로 요청할 때만 캐시를 사용
+    String CACHED_PAGE = "#pageable.pageNumber == 0 and #pageable.pageSize == T(java.lang.Integer).parseInt(@environment.getProperty('board.comments.page-size', '50'))";
+
+    @Cacheable(cacheNames = CacheConfig.COMMENTS, key = "#postId", condition = CACHED_PAGE)
+    @Query(VIEW_SELECT + " order by c.createdAt asc, c.id asc")
+    Slice<CommentView> findFirstPage(@Param("postId") Long postId, Pageable pageable); // 게시물의 첫 댓글 페이지 (작성순, count 쿼리 없음)
+
+    @Query(VIEW_SELECT + " and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id))"
+            + " order by c.createdAt asc, c.id asc")
+    Slice<CommentView> findAfter(@Param("postId") Long postId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);  // 커서 다음 댓글 (idx_comments_post_created_at)
+
+    @Query("select c.id as id, c.post.id as postId, c.content as content from comments c where c.post.id in :postIds order by c.id")
+    List<CommentText> findTextByPostIdIn(@Param("postIds") List<Long> postIds);  // 여러 게시물의 댓글 내용 (검색 색인 재구성)
+
+    @Query("select c.id as id, c.post.id as postId, c.content as content from comments c where c.id = :id")
+    Optional<CommentText> findTextById(@Param("id") Long id);  // 댓글 한 건 (검색 색인)
 }
@@ -1,12 +1,64 @@
 package com.example.demo.repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.example.demo.dto.PostSummary;
+import com.example.demo.dto.PostVersion;
 import com.example.demo.model.Post;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+    String SUMMARY_SELECT = "select p.id as id, p.title as title, p.author as author, p.createdAt as createdAt, p.views as views,"
+            + " p.commentCount as commentCount, p.attachmentCount as attachmentCount"
+            + " from posts p";	// 목록용 컬럼 (댓글/첨부 수는 posts의 카운터 컬럼)
+
+    boolean existsByIdAndAuthor(Long id, String author);	// 작성자 확인 (게시물과 연관 엔티티를 읽지 않음)
+
+    Slice<Post> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);	// ID 순 (검색 색인 재구성, keyset)
+
+    @Query("select new com.example.demo.dto.PostVersion(p.createdAt, p.updatedAt, p.commentCount, p.attachmentCount, p.lastCommentAt,"
+            + " (select count(a) from Attachment a where a.post.id = p.id and a.thumbnailName is not null))"
+            + " from posts p where p.id = :id")
+    Optional<PostVersion> findVersionById(@Param("id") Long id);	// 상세 페이지 ETag/Last-Modified 계산용 (본문, 컬렉션 제외)
+
     Page<Post> findAllByOrderByCreatedAtDesc(Pageable pageable);	// 최신순 정렬
+
+    @Query(SUMMARY_SELECT + " order by p.createdAt desc, p.id desc")
+    Slice<PostSummary> findLatest(Pageable pageable);	// 최신순 (count 쿼리 없음)
+
+    @Query(SUMMARY_SELECT + " order by p.commentCount desc, p.id desc")
+    Slice<PostSummary> findMostDiscussed(Pageable pageable);	// 댓글 많은 순 (idx_posts_comment_count)
+
+    @Transactional
+    @Modifying
+    @Query("update posts p set p.commentCount = p.commentCount + :delta, p.lastCommentAt = :at where p.id = :id")
+    int adjustCommentCount(@Param("id") Long id, @Param("delta") int delta, @Param("at") LocalDateTime at);	// 댓글 수 증감 (DB에서 원자적으로), 마지막 댓글 변경 시각 기록
+
+    @Transactional
+    @Modifying
+    @Query("update posts p set p.lastCommentAt = :at where p.id = :id")
+    int touchLastCommentAt(@Param("id") Long id, @Param("at") LocalDateTime at);	// 댓글 수정 시각 기록 (상세 페이지 검증값)
+
+    @Transactional
+    @Modifying
+    @Query("update posts p set p.attachmentCount = p.attachmentCount + :delta where p.id = :id")
+    int adjustAttachmentCount(@Param("id") Long id, @Param("delta") int delta);	// 첨부파일 수 증감
+
+    @Query(SUMMARY_SELECT + " where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)"
+            + " order by p.createdAt desc, p.id desc")
+    Slice<PostSummary> findOlderThan(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);	// 커서보다 오래된 글 (다음 페이지)
+
+    @Query(SUMMARY_SELECT + " where p.createdAt > :createdAt or (p.createdAt = :createdAt and p.id > :id)"
+            + " order by p.createdAt asc, p.id asc")
+    Slice<PostSummary> findNewerThan(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);	// 커서보다 최신 글 (이전 페이지, 오래된 순)
 }
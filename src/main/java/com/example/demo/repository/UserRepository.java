@@ -1,15 +1,43 @@
 package com.example.demo.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.UserlistDTO;
 import com.example.demo.model.User;
+
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+  String LIST_SELECT = "select new com.example.demo.dto.UserlistDTO(u.id, u.username, u.email) from users u";	// 목록용 컬럼 (비밀번호 제외)
+
   boolean existsByUsername(String username);	// 아이디 중복 검사
   boolean existsByEmail(String email);	// 이메일 중복 검사
-  Optional<User> findByUsername(String username); // 아이디로 유저 찾기
-}
+  Optional<User> findByUsername(String username); // 아이디로 유저 찾기 (엔티티는 캐시하지 않음, 로그인은 user-details 캐시 사용)
+
+  @Transactional
+  @Modifying
+  @Query("update users u set u.password = :password where u.username = :username")
+  int updatePassword(@Param("username") String username, @Param("password") String password);	// 로그인 시 새 해시 방식으로 다시 저장
 
+  // 아이디 접두어 검색, :after 다음부터 아이디순 (유니크 인덱스 범위 스캔, count 쿼리 없음)
+  @Query(LIST_SELECT + " where u.username like :prefix escape '!' and u.username > :after order by u.username")
+  Slice<UserlistDTO> findByUsernamePrefix(@Param("prefix") String prefix, @Param("after") String after, Pageable pageable);
+
+  // 이메일 접두어 검색, :after 다음부터 이메일순
+  @Query(LIST_SELECT + " where u.email like :prefix escape '!' and u.email > :after order by u.email")
+  Slice<UserlistDTO> findByEmailPrefix(@Param("prefix") String prefix, @Param("after") String after, Pageable pageable);
+
+  // 전체 내보내기용 한 묶음, :after 다음 id부터 (기본키 범위 스캔), 묶음마다 짧은 읽기 전용 트랜잭션
+  @Transactional(readOnly = true)
+  @Query(LIST_SELECT + " where u.id > :after order by u.id")
+  List<UserlistDTO> findExportBatch(@Param("after") long after, Pageable pageable);
+}
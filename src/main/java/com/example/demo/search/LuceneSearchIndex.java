@@ -0,0 +1,306 @@
+package com.example.demo.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.CommentText;
+import com.example.demo.dto.SearchHit;
+import com.example.demo.dto.SearchResult;
+import com.example.demo.model.Post;
+import com.example.demo.repository.CommentRepository;
+import com.example.demo.repository.PostRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 디렉토리(board.search.index-dir)에 두는 Lucene 역색인. 한국어는 nori 형태소 분석기로 색인한다.
+ * 변경은 IndexWriter에 바로 반영하고, 검색기는 주기적으로(near real-time) 새로 고치며 디스크 커밋은 따로 모아서 한다.
+ * 게시물(제목, 본문)과 댓글은 각각 별도 문서로 두고 둘 다 postId를 가진다. 댓글 하나가 바뀌면 그 댓글 문서만 다시 쓰므로
+ * 댓글 많은 게시물에서도 댓글 쓰기마다 드는 색인 비용이 일정하다. 검색 결과는 게시물 단위로 묶는다.
+ * 문서 구조가 바뀌었으므로 이전 버전의 색인은 관리자 재색인(/search/reindex)으로 다시 만들어야 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "board.search.type", havingValue = "lucene", matchIfMissing = true)
+public class LuceneSearchIndex implements SearchIndex {
+
+    private static final String ID = "id";              // 게시물 문서에만 있음
+    private static final String POST_ID = "postId";     // 게시물/댓글 문서 모두 (게시물 삭제 시 한 번에 제거)
+    private static final String COMMENT_ID = "commentId";   // 댓글 문서에만 있음
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final String COMMENTS = "comments";
+    private static final String AUTHOR = "author";
+    private static final String CREATED_AT = "createdAt";
+    private static final Set<String> KEY_FIELDS = Set.of(ID, POST_ID);
+
+    private static final int REINDEX_BATCH_SIZE = 500;
+    private static final int SNIPPET_LENGTH = 150;
+    private static final int MAX_RESULTS = 1000;    // 관련도순으로 이 이상은 넘겨 보지 않음
+    private static final int MAX_DOCS = MAX_RESULTS * 5;    // 게시물로 묶기 전에 읽는 문서 수 (한 게시물의 여러 댓글이 일치할 수 있음)
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final Analyzer analyzer = new KoreanAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final AtomicBoolean reindexing = new AtomicBoolean();   // 재색인 중에는 비어 있는 색인이 보이지 않도록 새로 고침 중지
+
+    public LuceneSearchIndex(PostRepository postRepository, CommentRepository commentRepository,
+                             @Value("${board.search.index-dir:search-index}") String indexDir) throws IOException {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.directory = FSDirectory.open(Paths.get(indexDir).toAbsolutePath());
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @Override
+    public void index(Long postId) {
+        try {
+            Post post = postRepository.findById(postId).orElse(null);
+            if (post == null) {
+                writer.deleteDocuments(new Term(POST_ID, postId.toString()));  // 게시물과 댓글 문서 모두
+                return;
+            }
+            writer.updateDocument(new Term(ID, postId.toString()), toDocument(post));   // 댓글 문서는 그대로
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void indexComment(Long postId, Long commentId) {
+        try {
+            Term id = new Term(COMMENT_ID, commentId.toString());
+            Optional<CommentText> comment = commentRepository.findTextById(commentId);
+            if (comment.isEmpty()) {    // 삭제된 댓글
+                writer.deleteDocuments(id);
+                return;
+            }
+            writer.updateDocument(id, toDocument(comment.get()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public SearchResult search(String query, int page, int size) {
+        if (query == null || query.isBlank() || (long) page * size >= MAX_RESULTS) {
+            return new SearchResult(List.of(), 0, page, size);
+        }
+        Query parsed = parse(query);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(parsed, MAX_DOCS);
+                StoredFields storedFields = searcher.storedFields();
+                Map<String, ScoreDoc> best = new LinkedHashMap<>();     // 게시물별 점수가 가장 높은 문서 (점수순)
+                Map<String, Integer> bestComment = new HashMap<>();     // 게시물별 점수가 가장 높은 댓글 문서 (본문에 일치가 없을 때 발췌)
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    Document doc = storedFields.document(scoreDoc.doc, KEY_FIELDS);
+                    String postId = doc.get(POST_ID) != null ? doc.get(POST_ID) : doc.get(ID);    // 이전 구조의 게시물 문서는 id만 있음
+                    if (!best.containsKey(postId) && best.size() >= MAX_RESULTS) {
+                        break;
+                    }
+                    best.putIfAbsent(postId, scoreDoc);
+                    if (doc.get(ID) == null) {
+                        bestComment.putIfAbsent(postId, scoreDoc.doc);
+                    }
+                }
+
+                Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<mark>", "</mark>"), new SimpleHTMLEncoder(), new QueryScorer(parsed));
+                highlighter.setTextFragmenter(new SimpleFragmenter(SNIPPET_LENGTH));
+                List<Map.Entry<String, ScoreDoc>> ranked = new ArrayList<>(best.entrySet());
+                List<SearchHit> hits = new ArrayList<>();
+                for (int i = page * size; i < Math.min(ranked.size(), (page + 1) * size); i++) {
+                    String postId = ranked.get(i).getKey();
+                    Document post = postDocument(searcher, postId);
+                    if (post == null) {     // 게시물 문서 없이 댓글만 남은 경우 (재색인 전)
+                        continue;
+                    }
+                    Integer comment = bestComment.get(postId);
+                    hits.add(SearchHit.builder()
+                            .postId(Long.valueOf(postId))
+                            .title(highlight(highlighter, TITLE, post.get(TITLE), false))
+                            .snippet(snippet(highlighter, post, comment == null ? null : storedFields.document(comment).get(COMMENTS)))
+                            .author(post.get(AUTHOR))
+                            .createdAt(LocalDateTime.parse(post.get(CREATED_AT)))
+                            .score(ranked.get(i).getValue().score)
+                            .build());
+                }
+                return new SearchResult(hits, Math.min(best.size(), MAX_RESULTS), page, size);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long reindex() {
+        reindexing.set(true);
+        try {
+            writer.deleteAll();
+            long count = 0;
+            long after = 0;
+            Slice<Post> slice;
+            do {
+                slice = postRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, REINDEX_BATCH_SIZE));
+                if (slice.isEmpty()) {
+                    break;
+                }
+                List<Long> ids = slice.getContent().stream().map(Post::getId).toList();
+                // 재색인 중에 index()/indexComment()가 먼저 넣은 문서가 있어도 중복되지 않도록 id로 교체
+                for (Post post : slice) {
+                    writer.updateDocument(new Term(ID, post.getId().toString()), toDocument(post));
+                }
+                for (CommentText comment : commentRepository.findTextByPostIdIn(ids)) {    // 댓글은 배치마다 한 번에 조회
+                    writer.updateDocument(new Term(COMMENT_ID, comment.getId().toString()), toDocument(comment));
+                }
+                count += ids.size();
+                after = ids.get(ids.size() - 1);
+            } while (slice.hasNext());
+            writer.commit();
+            searcherManager.maybeRefresh();
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            reindexing.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board.search.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {  // 최근 변경을 검색 결과에 반영
+        if (!reindexing.get()) {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board.search.commit-interval-ms:30000}")
+    public void commit() throws IOException {   // 변경을 디스크에 확정 (커밋 전 종료되면 재색인 필요)
+        if (!reindexing.get() && writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();     // 남은 변경 커밋
+        directory.close();
+    }
+
+    private Query parse(String query) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(new String[] { TITLE, CONTENT, COMMENTS }, analyzer,
+                Map.of(TITLE, 3f, CONTENT, 1f, COMMENTS, 0.5f));  // 제목 일치에 가중치
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(QueryParser.escape(query.trim()));   // 검색어의 특수 문자는 그대로 검색
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("검색어를 해석할 수 없습니다.", e);
+        }
+    }
+
+    private static Document postDocument(IndexSearcher searcher, String postId) throws IOException {
+        TopDocs top = searcher.search(new TermQuery(new Term(ID, postId)), 1);
+        return top.scoreDocs.length == 0 ? null : searcher.storedFields().document(top.scoreDocs[0].doc);
+    }
+
+    private String snippet(Highlighter highlighter, Document post, String comment) {     // 본문에서 먼저 찾고, 없으면 가장 잘 맞는 댓글에서
+        String content = highlight(highlighter, CONTENT, post.get(CONTENT), true);
+        if (content != null) {
+            return content;
+        }
+        if (comment != null) {
+            String matched = highlight(highlighter, COMMENTS, comment, true);
+            if (matched != null) {
+                return matched;
+            }
+        }
+        String text = post.get(CONTENT);
+        return new SimpleHTMLEncoder().encodeText(text.length() > SNIPPET_LENGTH ? text.substring(0, SNIPPET_LENGTH) + "…" : text);
+    }
+
+    private String highlight(Highlighter highlighter, String field, String text, boolean nullIfNoMatch) {
+        try {
+            String fragment = highlighter.getBestFragment(analyzer, field, text);
+            if (fragment != null || nullIfNoMatch) {
+                return fragment;
+            }
+            return new SimpleHTMLEncoder().encodeText(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InvalidTokenOffsetsException e) {
+            return nullIfNoMatch ? null : new SimpleHTMLEncoder().encodeText(text);
+        }
+    }
+
+    private static Document toDocument(Post post) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, post.getId().toString(), Field.Store.YES));
+        doc.add(new StringField(POST_ID, post.getId().toString(), Field.Store.YES));
+        doc.add(new TextField(TITLE, post.getTitle(), Field.Store.YES));
+        doc.add(new TextField(CONTENT, post.getContent(), Field.Store.YES));
+        doc.add(new StoredField(AUTHOR, post.getAuthor() == null ? "" : post.getAuthor()));
+        doc.add(new StoredField(CREATED_AT, post.getCreatedAt().toString()));
+        return doc;
+    }
+
+    private static Document toDocument(CommentText comment) {
+        Document doc = new Document();
+        doc.add(new StringField(COMMENT_ID, comment.getId().toString(), Field.Store.NO));
+        doc.add(new StringField(POST_ID, comment.getPostId().toString(), Field.Store.YES));
+        doc.add(new TextField(COMMENTS, comment.getContent(), Field.Store.YES));
+        return doc;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import com.example.demo.dto.SearchHit;
+import com.example.demo.dto.SearchResult;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MySQL InnoDB FULLTEXT(ngram 파서) 인덱스를 이용한 검색. 인덱스는 DB가 커밋 시 갱신하므로 게시물별 색인 작업이 없다.
+ * 인덱스는 마이그레이션(V8__fulltext_indexes.sql)으로 만든다.
+ * 게시물 MATCH와 댓글 MATCH를 OR로 묶으면 옵티마이저가 FULLTEXT 인덱스를 쓰지 못하고 posts 전체를 훑으므로,
+ * 두 MATCH를 각각 인덱스로 찾은 뒤 UNION으로 합친다 (댓글로만 찾은 게시물의 점수는 0).
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "board.search.type", havingValue = "mysql")
+public class MysqlFulltextSearchIndex implements SearchIndex {
+
+    private static final String MATCH_POST = "MATCH(p.title, p.content) AGAINST (? IN NATURAL LANGUAGE MODE)";
+    private static final String MATCH_COMMENT = "MATCH(c.content) AGAINST (? IN NATURAL LANGUAGE MODE)";
+    private static final String MATCHED_IDS = "SELECT p.id, " + MATCH_POST + " AS score FROM posts p WHERE " + MATCH_POST
+            + " UNION ALL SELECT c.post_id, 0 FROM comments c WHERE " + MATCH_COMMENT;
+    private static final String SEARCH_SQL = "SELECT p.id, p.title, p.content, p.author, p.created_at, m.score"
+            + " FROM (SELECT id, MAX(score) AS score FROM (" + MATCHED_IDS + ") u GROUP BY id) m JOIN posts p ON p.id = m.id"
+            + " ORDER BY m.score DESC, p.id DESC LIMIT ? OFFSET ?";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM (SELECT p.id FROM posts p WHERE " + MATCH_POST
+            + " UNION SELECT c.post_id FROM comments c WHERE " + MATCH_COMMENT + ") u";
+    private static final int SNIPPET_LENGTH = 150;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void index(Long postId) {
+        // FULLTEXT 인덱스는 트랜잭션 커밋 시 자동 반영
+    }
+
+    @Override
+    public void indexComment(Long postId, Long commentId) {
+        // FULLTEXT 인덱스는 트랜잭션 커밋 시 자동 반영
+    }
+
+    @Override
+    public SearchResult search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            return new SearchResult(List.of(), 0, page, size);
+        }
+        String q = query.trim();
+        Pattern terms = termPattern(q);
+        List<SearchHit> hits = jdbcTemplate.query(SEARCH_SQL, (rs, rowNum) -> SearchHit.builder()
+                        .postId(rs.getLong("id"))
+                        .title(highlight(rs.getString("title"), terms, false))
+                        .snippet(highlight(rs.getString("content"), terms, true))
+                        .author(rs.getString("author"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .score(rs.getFloat("score"))
+                        .build(),
+                q, q, q, size, (long) page * size);     // 게시물 점수, 게시물 조건, 댓글 조건
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, q, q);
+        return new SearchResult(hits, total == null ? 0 : total, page, size);
+    }
+
+    @Override
+    public long reindex() {     // 인덱스는 DB가 관리하므로 다시 만들 것이 없음, 검색 대상 게시물 수만 반환
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static Pattern termPattern(String query) {  // 검색어를 공백 단위로 나눠 강조할 패턴 생성
+        String alternatives = Arrays.stream(query.split("\\s+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> Pattern.quote(HtmlUtils.htmlEscape(term)))
+                .collect(Collectors.joining("|"));
+        return Pattern.compile(alternatives, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    private static String highlight(String text, Pattern terms, boolean snippet) {  // HTML 이스케이프 후 검색어를 <mark>로 감쌈
+        String source = text;
+        if (snippet && text.length() > SNIPPET_LENGTH) {  // 첫 일치 위치 주변만 잘라냄
+            Matcher first = terms.matcher(HtmlUtils.htmlEscape(text));
+            int start = 0;
+            if (first.find()) {
+                start = Math.max(0, Math.min(text.length() - SNIPPET_LENGTH, approximateOffset(text, first.start()) - SNIPPET_LENGTH / 3));
+            }
+            source = (start > 0 ? "…" : "") + text.substring(start, Math.min(text.length(), start + SNIPPET_LENGTH)) + "…";
+        }
+        return terms.matcher(HtmlUtils.htmlEscape(source)).replaceAll("<mark>$0</mark>");
+    }
+
+    private static int approximateOffset(String text, int escapedOffset) {  // 이스케이프된 문자열의 위치 -> 원문 위치
+        int escaped = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (escaped >= escapedOffset) {
+                return i;
+            }
+            escaped += HtmlUtils.htmlEscape(String.valueOf(text.charAt(i))).length();
+        }
+        return text.length();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.search;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode  // 미뤄진 색인 중복 제거 (SearchIndexer)
+public class PostIndexEvent {   // 게시물 또는 댓글이 생성/수정/삭제되어 다시 색인해야 함
+    private Long postId;
+    private Long commentId;     // 댓글 변경이면 댓글 ID, 게시물 변경이면 null
+
+    public PostIndexEvent(Long postId) {
+        this(postId, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.SearchResult;
+
+/**
+ * 게시물 검색 색인.
+ * board.search.type 속성으로 구현을 고른다 (lucene: 로컬 디렉토리의 Lucene 색인, mysql: InnoDB FULLTEXT 인덱스).
+ */
+public interface SearchIndex {
+
+    void index(Long postId);    // 게시물 한 건(제목, 본문)을 다시 색인, 게시물이 없으면 댓글까지 색인에서 제거
+
+    void indexComment(Long postId, Long commentId);    // 댓글 한 건을 다시 색인, 댓글이 없으면 색인에서 제거
+
+    SearchResult search(String query, int page, int size);     // 관련도순 검색 (page는 0부터)
+
+    long reindex();     // 전체 재색인, 색인한 게시물 수 반환
+}
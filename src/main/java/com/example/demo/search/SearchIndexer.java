@@ -0,0 +1,85 @@
+package com.example.demo.search;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.config.AsyncConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 커밋된 변경을 검색 색인에 반영한다. 요청 스레드가 아닌 검색 전용 스레드 풀에서 실행된다.
+ * 풀의 큐가 가득 차면 요청 스레드에서 색인하지 않고 변경만 기록해 두었다가 주기적으로 다시 제출한다.
+ */
+@Slf4j
+@Component
+public class SearchIndexer {
+
+    private final SearchIndex searchIndex;
+    private final TaskExecutor executor;
+    private final Set<PostIndexEvent> pending = ConcurrentHashMap.newKeySet();     // 큐가 가득 차 미뤄진 색인 (같은 게시물/댓글은 한 번만)
+
+    public SearchIndexer(SearchIndex searchIndex, @Qualifier(AsyncConfig.SEARCH_EXECUTOR) TaskExecutor executor) {
+        this.searchIndex = searchIndex;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)  // 발행하는 PostService 메소드는 모두 트랜잭션 안이라 커밋 후 실행, 트랜잭션 밖에서 발행되면 바로 실행
+    public void onPostChanged(PostIndexEvent event) {   // 요청 스레드에서는 제출만 함
+        if (!submit(event)) {
+            if (pending.add(event)) {
+                log.warn("검색 색인 큐가 가득 차 나중에 색인: postId={}, commentId={}", event.getPostId(), event.getCommentId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board.search.retry-interval-ms:5000}")
+    public void retryPending() {    // 미뤄진 색인 다시 제출, 또 거절되면 다음 주기에
+        Iterator<PostIndexEvent> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            PostIndexEvent event = iterator.next();
+            if (!submit(event)) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    @Async(AsyncConfig.SEARCH_EXECUTOR)
+    public void reindexAll() {  // 전체 재색인 (관리자)
+        long started = System.currentTimeMillis();
+        pending.clear();    // 재색인이 모두 반영함
+        long count = searchIndex.reindex();
+        log.info("검색 색인 재구성 완료: 게시물 {}건, {}ms", count, System.currentTimeMillis() - started);
+    }
+
+    private boolean submit(PostIndexEvent event) {
+        try {
+            executor.execute(() -> index(event));
+            return true;
+        } catch (TaskRejectedException e) {
+            return false;
+        }
+    }
+
+    private void index(PostIndexEvent event) {
+        try {
+            if (event.getCommentId() != null) {
+                searchIndex.indexComment(event.getPostId(), event.getCommentId());     // 그 댓글 문서만
+            } else {
+                searchIndex.index(event.getPostId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("검색 색인 실패: postId={}, commentId={}", event.getPostId(), event.getCommentId(), e);   // 다음 수정이나 재색인 때 반영
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이 서버에서 BCrypt 해시 한 번이 목표 시간 안에 끝나는 가장 큰 cost를 고른다.
+ * cost가 1 오를 때마다 계산량이 두 배이므로 최소 cost에서 잰 시간으로 나머지를 추정한다.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE = "calibration-password";
+    private static final int ROUNDS = 3;    // 가장 빠른 측정값 사용 (JIT, 캐시 영향 제외)
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minCost);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int cost = minCost;
+        long estimate = best;
+        while (cost < maxCost && estimate * 2 <= target.toNanos()) {
+            cost++;
+            estimate *= 2;
+        }
+        log.info("BCrypt cost {} 선택 (cost {} 측정 {}ms, 예상 {}ms, 목표 {}ms)",
+                cost, minCost, best / 1_000_000, estimate / 1_000_000, target.toMillis());
+        return cost;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.security;
+
+import org.springframework.cache.Cache;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * 인증용 UserDetails 캐시 (key: 아이디).
+ * 인증이 끝나면 ProviderManager가 principal의 비밀번호를 지우므로(eraseCredentials),
+ * 캐시에는 복사본을 넣고 꺼낼 때도 복사본을 돌려준다.
+ */
+public class CopyingUserCache implements UserCache {
+
+    private final Cache cache;
+
+    public CopyingUserCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails cached = cache.get(username, UserDetails.class);
+        return cached == null ? null : copy(cached);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), copy(user));
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.evict(username);
+    }
+
+    private static UserDetails copy(UserDetails user) {
+        return User.withUserDetails(user).build();
+    }
+}
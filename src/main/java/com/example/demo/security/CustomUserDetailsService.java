@@ -1,11 +1,14 @@
 package com.example.demo.security;
 
+import com.example.demo.config.CacheConfig;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,7 +16,7 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
 
     @Override
@@ -28,4 +31,13 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .authorities(List.of(new SimpleGrantedAuthority(user.getRole().toString()))) // 로그인한 사용자의 권한 설정
                 .build();
     }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#user.username")     // 예전 해시가 캐시에 남지 않도록
+    public UserDetails updatePassword(UserDetails user, String newPassword) {   // 로그인 성공 후 해시 방식/cost가 바뀌었으면 호출됨 (DaoAuthenticationProvider)
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
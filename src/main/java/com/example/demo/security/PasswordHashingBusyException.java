@@ -0,0 +1,17 @@
+package com.example.demo.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 비밀번호 해시 스레드 풀의 큐가 가득 찬 경우.
+ * 로그인 중이면 인증 실패 처리기(SecurityConfig)에서, 회원가입/수정 중이면 UserController에서 429 + Retry-After로 응답한다.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.StoredFile;
+import com.example.demo.storage.AttachmentStorage;
+import com.example.demo.storage.Derivative;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 텍스트류(CSV, JSON 등) 첨부파일을 업로드할 때 gzip 사본을 원본 옆에 만들어 둔다.
+ * 다운로드 시 클라이언트가 gzip을 받으면 요청마다 압축하지 않고 이 사본을 그대로 보낸다.
+ */
+@Slf4j
+@Component
+public class AttachmentCompressor {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AttachmentStorage attachmentStorage;
+    private final long minSize;         // 이보다 작은 파일은 압축하지 않음
+    private final double maxRatio;      // 압축 후 크기가 원본의 이 비율보다 크면 사본을 두지 않음
+    private final List<MediaType> mimeTypes;
+
+    public AttachmentCompressor(AttachmentStorage attachmentStorage,
+                                @Value("${board.files.compression.min-size:2048}") long minSize,
+                                @Value("${board.files.compression.max-ratio:0.9}") double maxRatio,
+                                @Value("${board.files.compression.mime-types:text/*,application/json,application/xml,application/javascript,image/svg+xml}") String[] mimeTypes) {
+        this.attachmentStorage = attachmentStorage;
+        this.minSize = minSize;
+        this.maxRatio = maxRatio;
+        this.mimeTypes = Arrays.stream(mimeTypes).map(String::trim).map(MediaType::parseMediaType).toList();
+    }
+
+    public boolean isCompressible(String originalName) {    // 설정된 MIME 타입인지 (크기와 무관)
+        return MediaTypeFactory.getMediaType(originalName)
+                .map(type -> mimeTypes.stream().anyMatch(allowed -> allowed.includes(type)))
+                .orElse(false);
+    }
+
+    public void precompress(StoredFile storedFile) {     // 실패해도 업로드는 계속 (원본만 제공)
+        if (storedFile.getSize() < minSize || !isCompressible(storedFile.getOriginalName())) {
+            return;
+        }
+        Path original = attachmentStorage.resolve(storedFile.getSavedName());
+        Path target = attachmentStorage.resolve(storedFile.getSavedName(), Derivative.GZIP);
+        if (Files.exists(target)) {     // 같은 내용의 파일이 이미 압축된 경우
+            return;
+        }
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (InputStream in = Files.newInputStream(original);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                in.transferTo(out);
+            }
+            if (Files.size(temp) > storedFile.getSize() * maxRatio) {   // 이미 압축된 내용 등 효과가 없는 경우
+                Files.delete(temp);
+                return;
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("첨부파일 압축 실패: {}", storedFile.getSavedName(), e);
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 남은 임시 파일은 정리 작업에서 삭제
+            }
+        }
+    }
+
+    public Path compressedVariant(String savedName) {   // gzip 사본 경로, 없으면 null
+        Path path = attachmentStorage.resolve(savedName, Derivative.GZIP);
+        return Files.isRegularFile(path) ? path : null;
+    }
+}
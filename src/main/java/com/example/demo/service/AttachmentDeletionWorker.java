@@ -0,0 +1,78 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.config.AsyncConfig;
+import com.example.demo.model.AttachmentDeletion;
+import com.example.demo.repository.AttachmentDeletionRepository;
+import com.example.demo.storage.AttachmentStorage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 파일 삭제 대기열(attachment_deletions)을 주기적으로 읽어 파일 작업 스레드 풀에서 삭제한다.
+ * 요청 스레드는 대기열 행만 저장하고 커밋 후 바로 응답한다.
+ */
+@Slf4j
+@Service
+public class AttachmentDeletionWorker {
+
+    private final AttachmentDeletionRepository deletionRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final TaskExecutor executor;
+    private final int maxAttempts;  // 이 횟수만큼 실패하면 포기 (남은 파일은 AttachmentSweeper가 정리)
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();  // 처리 중인 삭제 요청 ID (중복 제출 방지)
+
+    public AttachmentDeletionWorker(AttachmentDeletionRepository deletionRepository, AttachmentStorage attachmentStorage,
+                                    @Qualifier(AsyncConfig.FILE_EXECUTOR) TaskExecutor executor,
+                                    @Value("${board.files.delete-max-attempts:5}") int maxAttempts) {
+        this.deletionRepository = deletionRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.executor = executor;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${board.files.delete-interval-ms:1000}")
+    public void drain() {
+        List<AttachmentDeletion> batch = deletionRepository.findTop100ByOrderByIdAsc();
+        for (AttachmentDeletion deletion : batch) {
+            if (!inFlight.add(deletion.getId())) {
+                continue;
+            }
+            try {
+                executor.execute(() -> process(deletion));
+            } catch (TaskRejectedException e) {     // 큐가 가득 차면 다음 주기에 다시 시도
+                inFlight.remove(deletion.getId());
+                break;
+            }
+        }
+    }
+
+    private void process(AttachmentDeletion deletion) {
+        try {
+            attachmentStorage.release(deletion.getSavedName());
+            deletionRepository.deleteById(deletion.getId());
+        } catch (RuntimeException e) {
+            deletion.setAttempts(deletion.getAttempts() + 1);
+            if (deletion.getAttempts() >= maxAttempts) {
+                log.error("첨부파일 삭제 실패, 재시도 중단: {}", deletion.getSavedName(), e);
+                deletionRepository.deleteById(deletion.getId());
+            } else {
+                log.warn("첨부파일 삭제 실패 ({}회): {}", deletion.getAttempts(), deletion.getSavedName(), e);
+                deletionRepository.save(deletion);
+            }
+        } finally {
+            inFlight.remove(deletion.getId());
+        }
+    }
+}
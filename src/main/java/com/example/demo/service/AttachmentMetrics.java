@@ -0,0 +1,71 @@
+package com.example.demo.service;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 첨부파일 업로드/다운로드 크기와 소요 시간 (Prometheus 히스토그램으로 내보내 p99 확인).
+ * sendfile로 보낸 다운로드는 실제 전송이 요청 처리 뒤에 일어나 끝나는 시점을 알 수 없으므로 별도 미터에 넘긴 시점까지만 기록한다.
+ */
+@Component
+public class AttachmentMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer uploadTimer;
+    private final DistributionSummary uploadBytes;
+    private final Timer downloadTimer;
+    private final DistributionSummary downloadBytes;
+    private final Timer sendfileTimer;
+    private final DistributionSummary sendfileBytes;
+
+    public AttachmentMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.uploadTimer = Timer.builder("board.attachment.upload")
+                .description("첨부파일 한 개 저장 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.uploadBytes = DistributionSummary.builder("board.attachment.upload.size")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.downloadTimer = Timer.builder("board.attachment.download")
+                .description("첨부파일 다운로드 응답 시간 (304 포함)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.downloadBytes = DistributionSummary.builder("board.attachment.download.size")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sendfileTimer = Timer.builder("board.attachment.download.sendfile")
+                .description("sendfile로 넘기기까지의 응답 처리 시간 (전송 시간 제외)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sendfileBytes = DistributionSummary.builder("board.attachment.download.sendfile.size")
+                .description("sendfile로 넘긴 본문 크기")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void uploaded(Timer.Sample sample, long bytes) {
+        sample.stop(uploadTimer);
+        uploadBytes.record(bytes);
+    }
+
+    public void downloaded(Timer.Sample sample, long bytes) {   // 본문을 직접 쓴 응답 (304, 416 포함)
+        sample.stop(downloadTimer);
+        downloadBytes.record(bytes);
+    }
+
+    public void handedToSendfile(Timer.Sample sample, long bytes) {
+        sample.stop(sendfileTimer);
+        sendfileBytes.record(bytes);
+    }
+}
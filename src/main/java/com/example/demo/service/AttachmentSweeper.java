@@ -0,0 +1,85 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.dto.AttachmentFileView;
+import com.example.demo.repository.AttachmentRepository;
+import com.example.demo.storage.AttachmentStorage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업로드 디렉토리와 첨부파일 테이블을 주기적으로 맞춰 본다.
+ * 어떤 행도 참조하지 않는 파일(고아 파일)은 삭제하고, 파일이 없는 행은 로그로 알린다.
+ */
+@Slf4j
+@Service
+public class AttachmentSweeper {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final Duration gracePeriod;     // 업로드 후 행이 커밋되기 전의 파일을 지우지 않도록 두는 유예 시간
+
+    public AttachmentSweeper(AttachmentRepository attachmentRepository, AttachmentStorage attachmentStorage,
+                             @Value("${board.storage.grace-period:PT1H}") Duration gracePeriod) {
+        this.attachmentRepository = attachmentRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(fixedDelayString = "${board.storage.sweep-interval-ms:3600000}", initialDelayString = "${board.storage.sweep-interval-ms:3600000}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        attachmentStorage.purgeTemporary(cutoff);
+
+        int orphans = 0;
+        for (String savedName : attachmentStorage.list()) {
+            if (olderThan(attachmentStorage.resolve(savedName), cutoff) && !attachmentRepository.existsBySavedName(savedName)) {
+                try {
+                    attachmentStorage.delete(savedName);
+                    orphans++;
+                } catch (RuntimeException e) {
+                    log.warn("고아 파일 삭제 실패: {}", savedName, e);
+                }
+            }
+        }
+
+        int dangling = 0;
+        long after = 0;
+        Slice<AttachmentFileView> slice;
+        do {
+            slice = attachmentRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, PAGE_SIZE));
+            for (AttachmentFileView attachment : slice) {
+                if (!Files.isRegularFile(attachmentStorage.resolve(attachment.getSavedName()))) {
+                    log.warn("파일이 없는 첨부파일: id={}, savedName={}", attachment.getId(), attachment.getSavedName());
+                    dangling++;
+                }
+                after = attachment.getId();
+            }
+        } while (slice.hasNext());
+
+        if (orphans > 0 || dangling > 0) {
+            log.info("첨부파일 정리 완료: 고아 파일 {}개 삭제, 파일 없는 첨부파일 {}건", orphans, dangling);
+        }
+    }
+
+    private static boolean olderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.service;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AttachmentsStoredEvent {   // 새 첨부파일 행이 저장됨 (커밋 후 파생 파일 생성)
+    private List<Long> attachmentIds;
+}
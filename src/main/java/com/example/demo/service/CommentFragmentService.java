@@ -0,0 +1,55 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.CommentView;
+
+/**
+ * 게시물 상세 페이지의 첫 댓글 페이지를 HTML로 렌더링해 잠깐 캐시한다.
+ * 사용자와 상관없이 같은 내용만 담고, 수정/삭제 버튼은 페이지 스크립트가 붙인다.
+ * 키에 댓글 수, ID 합, 마지막 작성/수정 시각이 들어가므로 첫 페이지가 바뀌면 자연히 새로 렌더링된다.
+ */
+@Service
+public class CommentFragmentService {
+
+    private static final String TEMPLATE = "fragments/comments";
+
+    private final ITemplateEngine templateEngine;
+    private final Cache cache;
+
+    public CommentFragmentService(ITemplateEngine templateEngine, CacheManager cacheManager) {
+        this.templateEngine = templateEngine;
+        this.cache = cacheManager.getCache(CacheConfig.COMMENT_FRAGMENTS);
+    }
+
+    public String render(Long postId, List<CommentView> comments) {
+        String key = postId + ":" + version(comments);
+        return cache.get(key, () -> {
+            Context context = new Context();
+            context.setVariable("comments", comments);
+            return templateEngine.process(TEMPLATE, Set.of("comments"), context);
+        });
+    }
+
+    private static String version(List<CommentView> comments) {    // 댓글 수 + ID 합 + 가장 최근 작성/수정 시각
+        LocalDateTime latest = null;
+        long idSum = 0;
+        for (CommentView comment : comments) {
+            idSum += comment.getId();
+            LocalDateTime modified = comment.getUpdatedAt() != null ? comment.getUpdatedAt() : comment.getCreatedAt();
+            if (modified != null && (latest == null || modified.isAfter(latest))) {
+                latest = modified;
+            }
+        }
+        return comments.size() + ":" + idSum + ":" + latest;
+    }
+}
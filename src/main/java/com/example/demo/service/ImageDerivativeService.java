@@ -0,0 +1,194 @@
+package com.example.demo.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.config.AsyncConfig;
+import com.example.demo.config.CacheConfig;
+import com.example.demo.model.Attachment;
+import com.example.demo.repository.AttachmentRepository;
+import com.example.demo.storage.AttachmentStorage;
+import com.example.demo.storage.Derivative;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이미지 첨부파일의 썸네일과 미리보기(JPEG)를 원본 옆에 만든다.
+ * 첨부파일이 커밋된 뒤 이미지 전용 스레드 풀에서 실행되고, 큐가 가득 차면 건너뛴다 (원본 다운로드는 그대로 가능).
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+    private static final Set<String> IMAGE_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/bmp");
+
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final CacheManager cacheManager;
+    private final TaskExecutor executor;
+    private final int thumbnailSize;    // 긴 변 기준 픽셀
+    private final int previewSize;
+    private final long maxPixels;       // 이보다 큰 이미지는 디코딩하지 않음 (메모리 보호)
+    private final float quality;
+
+    public ImageDerivativeService(AttachmentRepository attachmentRepository, AttachmentStorage attachmentStorage, CacheManager cacheManager,
+                                  @Qualifier(AsyncConfig.IMAGE_EXECUTOR) TaskExecutor executor,
+                                  @Value("${board.images.thumbnail-size:240}") int thumbnailSize,
+                                  @Value("${board.images.preview-size:1280}") int previewSize,
+                                  @Value("${board.images.max-pixels:50000000}") long maxPixels,
+                                  @Value("${board.images.jpeg-quality:0.82}") float quality) {
+        this.attachmentRepository = attachmentRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.cacheManager = cacheManager;
+        this.executor = executor;
+        this.thumbnailSize = thumbnailSize;
+        this.previewSize = previewSize;
+        this.maxPixels = maxPixels;
+        this.quality = quality;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachmentsStored(AttachmentsStoredEvent event) {
+        for (Long attachmentId : event.getAttachmentIds()) {
+            try {
+                executor.execute(() -> generate(attachmentId));
+            } catch (TaskRejectedException e) {
+                log.warn("이미지 변환 대기열이 가득 차 건너뜀: attachmentId={}", attachmentId);
+            }
+        }
+    }
+
+    void generate(Long attachmentId) {
+        Attachment attachment = attachmentRepository.findById(attachmentId).orElse(null);
+        if (attachment == null || !isImage(attachment.getOriginalName())) {
+            return;
+        }
+        String savedName = attachment.getSavedName();
+        try {
+            BufferedImage image = read(attachmentStorage.resolve(savedName));
+            if (image == null) {
+                return;
+            }
+            write(image, attachmentStorage.resolve(savedName, Derivative.THUMBNAIL), thumbnailSize);
+            write(image, attachmentStorage.resolve(savedName, Derivative.PREVIEW), previewSize);
+            attachmentRepository.updateDerivatives(attachmentId, Derivative.THUMBNAIL.nameFor(savedName), Derivative.PREVIEW.nameFor(savedName));
+            Cache posts = cacheManager.getCache(CacheConfig.POSTS);
+            if (posts != null) {    // 상세 페이지에 썸네일 표시
+                posts.evict(attachment.getPost().getId());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("이미지 변환 실패: attachmentId={}", attachmentId, e);
+        }
+    }
+
+    private static boolean isImage(String originalName) {
+        return MediaTypeFactory.getMediaType(originalName)
+                .map(type -> IMAGE_TYPES.contains(type.getType() + "/" + type.getSubtype()))
+                .orElse(false);
+    }
+
+    private BufferedImage read(Path original) throws IOException {  // 크기를 먼저 확인하고, 미리보기보다 훨씬 크면 건너뛰며 읽음
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.info("이미지가 너무 커서 변환하지 않음: {}x{}", width, height);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (previewSize * 2));   // 미리보기 해상도의 2배 이상은 유지
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void write(BufferedImage image, Path target, int maxSize) throws IOException {
+        if (Files.exists(target)) {     // 같은 내용을 공유하는 첨부파일이 이미 만든 경우
+            return;
+        }
+        BufferedImage scaled = scale(image, maxSize);
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);    // 큰 미리보기는 점진적으로 표시
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static BufferedImage scale(BufferedImage image, int maxSize) {  // 긴 변이 maxSize가 되도록 축소 (2배 이상 줄일 때는 절반씩 나눠서)
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = image;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setColor(Color.WHITE);    // 투명 배경(PNG, GIF)은 흰색으로
+                g.fillRect(0, 0, currentWidth, currentHeight);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.repository.PostRepository;
+
+/**
+ * 목록의 총 페이지 수 계산용 게시물 수 캐시.
+ * 요청마다 count(*)를 실행하지 않고, TTL이 지나면 한 스레드만 다시 센다.
+ */
+@Component
+public class PostCountCache {
+
+    private final PostRepository postRepository;
+    private final long ttlMillis;
+
+    private final AtomicLong count = new AtomicLong(-1);
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile long loadedAt;
+
+    public PostCountCache(PostRepository postRepository, @Value("${board.posts.count-ttl-ms:60000}") long ttlMillis) {
+        this.postRepository = postRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public long get() {
+        long cached = count.get();
+        if (cached >= 0 && System.currentTimeMillis() - loadedAt < ttlMillis) {
+            return cached;
+        }
+        if (cached >= 0 && !refreshLock.tryLock()) {
+            return cached;  // 다른 스레드가 갱신 중이면 이전 값 사용
+        }
+        if (cached < 0) {
+            refreshLock.lock();
+        }
+        try {
+            if (count.get() < 0 || System.currentTimeMillis() - loadedAt >= ttlMillis) {
+                count.set(postRepository.count());
+                loadedAt = System.currentTimeMillis();
+            }
+            return count.get();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public void adjust(long delta) {    // 작성/삭제 시 캐시된 값 보정, 트랜잭션 안이면 커밋된 뒤에 (롤백되면 보정하지 않음)
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(delta);
+                }
+            });
+            return;
+        }
+        apply(delta);
+    }
+
+    private void apply(long delta) {
+        count.updateAndGet(current -> current < 0 ? current : Math.max(0, current + delta));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.config.CacheConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * posts.comment_count / attachment_count 를 실제 행 수로 다시 맞춘다 (카운터 드리프트 보정).
+ * ID 구간별로 나눠 한 번에 잠그는 행 수를 제한한다.
+ */
+@Slf4j
+@Service
+public class PostCounterRepairJob {
+
+    private static final String COMMENTS = "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id)";
+    private static final String ATTACHMENTS = "(SELECT COUNT(*) FROM attachment a WHERE a.post_id = p.id)";
+    private static final String REPAIR_SQL = "UPDATE posts p SET p.comment_count = " + COMMENTS + ", p.attachment_count = " + ATTACHMENTS
+            + " WHERE p.id BETWEEN ? AND ? AND (p.comment_count <> " + COMMENTS + " OR p.attachment_count <> " + ATTACHMENTS + ")";   // 어긋난 행만 갱신
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final int batchSize;
+
+    public PostCounterRepairJob(JdbcTemplate jdbcTemplate, CacheManager cacheManager,
+                                @Value("${board.posts.counter-repair-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${board.posts.counter-repair-cron:0 30 4 * * *}")  // 기본: 매일 04:30
+    public void repair() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM posts", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        long fixed = 0;
+        for (long from = 1; from <= maxId; from += batchSize) {
+            fixed += jdbcTemplate.update(REPAIR_SQL, from, from + batchSize - 1);   // 구간마다 자동 커밋
+        }
+        if (fixed > 0) {
+            log.warn("게시물 카운터 {}건 보정", fixed);
+            cacheManager.getCache(CacheConfig.POSTS).clear();
+            cacheManager.getCache(CacheConfig.POST_PAGES).clear();
+        }
+    }
+}
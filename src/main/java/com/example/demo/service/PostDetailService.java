@@ -0,0 +1,95 @@
+package com.example.demo.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.config.CacheConfig;
+
+import com.example.demo.dto.CommentPage;
+import com.example.demo.dto.CommentView;
+import com.example.demo.dto.KeysetCursor;
+import com.example.demo.dto.PostDetailView;
+import com.example.demo.dto.PostVersion;
+import com.example.demo.model.Post;
+import com.example.demo.repository.AttachmentRepository;
+import com.example.demo.repository.CommentRepository;
+import com.example.demo.repository.PostRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * 게시물 상세 페이지 조회 전용 서비스.
+ * 댓글 수와 상관없이 게시물, 첫 댓글 페이지, 첨부파일 각각 한 번씩 고정된 쿼리 3개로 읽는다.
+ * 나머지 댓글은 (createdAt, id) 커서로 한 페이지씩 이어서 읽는다.
+ */
+@Service
+@Timed(value = "board.service", histogram = true)
+public class PostDetailService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final int commentPageSize;
+
+    public PostDetailService(PostRepository postRepository, CommentRepository commentRepository, AttachmentRepository attachmentRepository,
+                             @Value("${board.comments.page-size:50}") int commentPageSize) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.commentPageSize = commentPageSize;
+    }
+
+    @Transactional(readOnly = true)     // 쿼리 3개를 읽기 풀의 커넥션 하나로
+    @Cacheable(cacheNames = CacheConfig.POSTS, key = "#id")
+    public PostDetailView getPostDetail(Long id) {
+        Post post = postRepository.findById(id).orElseThrow(() -> new RuntimeException("해당 게시물을 찾을 수 없습니다."));
+        Slice<CommentView> comments = commentRepository.findFirstPage(id, PageRequest.of(0, commentPageSize));
+        return PostDetailView.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .content(post.getContent())
+                .author(post.getAuthor())
+                .views(post.getViews())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .commentCount(post.getCommentCount())
+                .comments(comments.getContent())   // 첫 댓글 페이지 (프로젝션)
+                .nextCommentCursor(nextCursor(comments))
+                .attachments(attachmentRepository.findByPostIdOrderByIdAsc(id))    // 첨부파일 (프로젝션)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public CommentPage getComments(Long postId, String cursor) {    // 댓글 이어서 읽기, cursor가 없으면 첫 페이지
+        Slice<CommentView> comments;
+        if (cursor == null || cursor.isEmpty()) {
+            comments = commentRepository.findFirstPage(postId, PageRequest.of(0, commentPageSize));
+        } else {
+            KeysetCursor key = KeysetCursor.decode(cursor);
+            comments = commentRepository.findAfter(postId, key.getCreatedAt(), key.getId(), PageRequest.of(0, commentPageSize));
+        }
+        List<CommentPage.Item> items = comments.getContent().stream()
+                .map(comment -> new CommentPage.Item(comment.getId(), comment.getAuthor(), comment.getContent(), comment.getCreatedAt()))
+                .toList();
+        return new CommentPage(items, nextCursor(comments));
+    }
+
+    @Transactional(readOnly = true)
+    public PostVersion getPostVersion(Long id) {    // 조건부 요청 검증용 (캐시하지 않음, 컬렉션을 읽지 않는 쿼리 1개)
+        return postRepository.findVersionById(id).orElseThrow(() -> new RuntimeException("해당 게시물을 찾을 수 없습니다."));
+    }
+
+    private static String nextCursor(Slice<CommentView> comments) {
+        if (!comments.hasNext() || comments.getContent().isEmpty()) {
+            return null;
+        }
+        CommentView last = comments.getContent().get(comments.getContent().size() - 1);
+        return new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+    }
+}
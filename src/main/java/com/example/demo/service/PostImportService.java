@@ -0,0 +1,159 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.PostImportRecord;
+import com.example.demo.dto.PostImportResult;
+import com.example.demo.model.Comment;
+import com.example.demo.model.Post;
+import com.example.demo.search.SearchIndexer;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기존 게시판 데이터 대량 가져오기.
+ * NDJSON(한 줄에 게시물 하나, 댓글 포함)을 스트리밍으로 읽어 batchSize개씩 별도 트랜잭션으로 저장한다.
+ * 묶음마다 flush 후 영속성 컨텍스트를 비우므로 메모리 사용량은 입력 크기와 상관없고,
+ * INSERT는 hibernate.jdbc.batch_size / order_inserts 설정으로 묶여서 나간다.
+ * 중간에 실패하면 그 전 묶음까지는 저장된 상태로 남는다.
+ */
+@Slf4j
+@Service
+public class PostImportService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PostCountCache postCountCache;
+    private final SearchIndexer searchIndexer;
+    private final int defaultBatchSize;
+    private final int maxBatchSize;     // 한 영속성 컨텍스트(트랜잭션)에 쌓는 게시물 수 상한
+
+    public PostImportService(EntityManager entityManager, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             PostCountCache postCountCache, SearchIndexer searchIndexer,
+                             @Value("${board.import.batch-size:500}") int defaultBatchSize,
+                             @Value("${board.import.max-batch-size:2000}") int maxBatchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.postCountCache = postCountCache;
+        this.searchIndexer = searchIndexer;
+        this.defaultBatchSize = defaultBatchSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true)
+    public PostImportResult importPosts(InputStream in, Integer batchSize, boolean reindex) throws IOException {
+        int size = Math.min(batchSize != null && batchSize > 0 ? batchSize : defaultBatchSize, maxBatchSize);
+        long started = System.currentTimeMillis();
+        long posts = 0;
+        long comments = 0;
+        List<PostImportRecord> batch = new ArrayList<>(size);
+        try (MappingIterator<PostImportRecord> records = objectMapper.readerFor(PostImportRecord.class).readValues(in)) {
+            while (true) {
+                PostImportRecord record;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    record = records.nextValue();
+                    validate(record);
+                } catch (IOException | IllegalArgumentException e) {
+                    throw new IllegalArgumentException((posts + batch.size() + 1) + "번째 게시물을 읽을 수 없습니다: " + e.getMessage()
+                            + " (앞선 게시물 " + posts + "개는 저장됨)", e);
+                }
+                batch.add(record);
+                if (batch.size() == size) {
+                    comments += write(batch, size);
+                    posts += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                comments += write(batch, size);
+                posts += batch.size();
+            }
+        } finally {
+            postCountCache.adjust(posts);   // 트랜잭션 밖, 커밋된 묶음의 게시물 수만
+            if (reindex && posts > 0) {
+                searchIndexer.reindexAll();     // 게시물마다 색인 작업을 만들지 않고 끝난 뒤 한 번에
+            }
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("게시물 가져오기 완료: 게시물 {}개, 댓글 {}개, {}ms", posts, comments, elapsed);
+        return new PostImportResult(posts, comments, elapsed);
+    }
+
+    private static void validate(PostImportRecord record) {
+        if (isBlank(record.getTitle()) || isBlank(record.getContent()) || isBlank(record.getAuthor())) {
+            throw new IllegalArgumentException("title, content, author는 필수입니다.");
+        }
+        for (PostImportRecord.CommentRecord comment : record.getComments()) {
+            if (comment == null || isBlank(comment.getContent()) || isBlank(comment.getAuthor())) {
+                throw new IllegalArgumentException("댓글의 content, author는 필수입니다.");
+            }
+        }
+    }
+
+    private static LocalDateTime lastCommentAt(PostImportRecord record, LocalDateTime postCreatedAt) {   // 가져온 댓글 중 가장 늦은 작성 시각
+        return record.getComments().stream()
+                .map(comment -> comment.getCreatedAt() != null ? comment.getCreatedAt() : postCreatedAt)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private long write(List<PostImportRecord> batch, int batchSize) {    // 한 묶음을 한 트랜잭션으로 저장, 저장한 댓글 수 반환
+        Long comments = transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            long count = 0;
+            LocalDateTime now = LocalDateTime.now();
+            for (PostImportRecord record : batch) {
+                LocalDateTime createdAt = record.getCreatedAt() != null ? record.getCreatedAt() : now;
+                Post post = Post.builder()
+                        .title(record.getTitle())
+                        .content(record.getContent())
+                        .author(record.getAuthor())
+                        .views(record.getViews())
+                        .commentCount(record.getComments().size())  // 카운터 컬럼도 함께 채움
+                        .lastCommentAt(lastCommentAt(record, createdAt))
+                        .attachmentCount(0)
+                        .createdAt(createdAt)
+                        .updatedAt(record.getUpdatedAt())
+                        .build();
+                entityManager.persist(post);
+                for (PostImportRecord.CommentRecord commentRecord : record.getComments()) {
+                    entityManager.persist(Comment.builder()
+                            .content(commentRecord.getContent())
+                            .author(commentRecord.getAuthor())
+                            .createdAt(commentRecord.getCreatedAt() != null ? commentRecord.getCreatedAt() : createdAt)
+                            .post(post)
+                            .build());
+                    count++;
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();  // 다음 묶음 전에 영속성 컨텍스트 비우기
+            return count;
+        });
+        return comments != null ? comments : 0;
+    }
+}
@@ -1,88 +1,120 @@
 package com.example.demo.service;
 
-import java.io.IOException;
-import java.nio.file.Paths;
-import java.nio.file.Path;
-import java.nio.file.Files;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
 
+import org.hibernate.Hibernate;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.demo.config.CacheConfig;
 import com.example.demo.model.Post;
 import com.example.demo.repository.PostRepository;
+import com.example.demo.search.PostIndexEvent;
+import com.example.demo.storage.AttachmentStorage;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import com.example.demo.dto.KeysetCursor;
 import com.example.demo.dto.PostDTO;
+import com.example.demo.dto.PostSlice;
+import com.example.demo.dto.PostSummary;
+import com.example.demo.dto.StoredFile;
 import com.example.demo.model.Attachment;
+import com.example.demo.model.AttachmentDeletion;
 import com.example.demo.model.Comment;
 import com.example.demo.repository.CommentRepository;
 import com.example.demo.dto.CommentDTO;
 import com.example.demo.repository.AttachmentRepository;
+import com.example.demo.repository.AttachmentDeletionRepository;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "board.service", histogram = true)   // 메소드별 소요 시간 (class, method 태그)
 public class PostService {
 
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     private final AttachmentRepository attachmentRepository;
+    private final AttachmentDeletionRepository attachmentDeletionRepository;
+    private final PostCountCache postCountCache;
+    private final AttachmentStorage attachmentStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AttachmentMetrics attachmentMetrics;
+    private final AttachmentCompressor attachmentCompressor;
 
     @Transactional
-    public void createPost(PostDTO postdto, String author, List<MultipartFile> newFiles) {
+    @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true)
+    public void createPost(PostDTO postdto, String author, List<StoredFile> newFiles) {   // 파일은 saveFiles로 미리 저장해 둔 상태
         Post post = Post.builder()
                 .title(postdto.getTitle())
                 .content(postdto.getContent())
                 .author(author)
                 .views(0)   // 초기 조회수 0으로 설정
+                .attachmentCount(newFiles.size())
                 .createdAt(LocalDateTime.now())   // 현재 시간으로 생성일자 설정
                 .build();
 
         postRepository.save(post);   // 포스트 저장
-        System.out.println("Post saved with ID: " + post.getId() + newFiles.size());
+        postCountCache.adjust(1);
+        log.debug("게시물 저장: id={}, 첨부파일 {}개", post.getId(), newFiles.size());
 
         // 파일 첨부하기
-        for (MultipartFile newFile : newFiles) {
-            if (!newFile.isEmpty()) {
-                try {
-                    // 파일 저장 후 파일명 가져오기
-                    String savedFileName = saveFile(newFile);
-
-                    // 첨부파일 엔티티 생성 및 저장
-                    Attachment attachment = Attachment.builder()
-                            .post(post)
-                            .savedName(savedFileName)
-                            .originalName(newFile.getOriginalFilename())
-                            .build();
-
-                    attachmentRepository.save(attachment);
-
-                    // Post와 관계 설정
-                    post.getAttachments().add(attachment);
-                } catch (Exception e) {
-                    throw new RuntimeException("첨부파일 저장 중 오류 발생", e);
-                }
-            }
+        List<Long> storedIds = new ArrayList<>();
+        for (StoredFile newFile : newFiles) {
+            // 첨부파일 엔티티 생성 및 저장
+            Attachment attachment = toAttachment(post, newFile);
+            attachmentRepository.save(attachment);
+            storedIds.add(attachment.getId());
+
+            // Post와 관계 설정
+            post.getAttachments().add(attachment);
+        }
+        eventPublisher.publishEvent(new PostIndexEvent(post.getId()));   // 커밋 후 검색 색인
+        if (!storedIds.isEmpty()) {
+            eventPublisher.publishEvent(new AttachmentsStoredEvent(storedIds));   // 커밋 후 썸네일 생성
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Post> getAllPosts() {
         return postRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));   // 최신순 정렬
     }
 
+    @Transactional(readOnly = true)
     public Post getPostById(Long id) {
-        return postRepository.findById(id).orElseThrow(() -> new RuntimeException("해당 게시물을 찾을 수 없습니다."));   // ID로 포스트 찾기
+        Post post = postRepository.findById(id).orElseThrow(() -> new RuntimeException("해당 게시물을 찾을 수 없습니다."));   // ID로 포스트 찾기
+        Hibernate.initialize(post.getAttachments());   // 수정 폼에서 사용 (트랜잭션이 끝난 뒤에는 지연 로딩 불가)
+        return post;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isAuthor(Long id, String username) {   // 게시물 작성자인지 확인
+        return postRepository.existsByIdAndAuthor(id, username);
     }
 
     @Transactional
-    public void updatePost(Long id, PostDTO postdto, List<Long> deleteAttachmentIds, List<MultipartFile> newFiles) {
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.POSTS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true)
+    })
+    public void updatePost(Long id, PostDTO postdto, List<Long> deleteAttachmentIds, List<StoredFile> newFiles) {   // 새 파일은 saveFiles로 미리 저장해 둔 상태
         Post previous = postRepository.findById(id).orElseThrow(() -> new RuntimeException("해당 게시물을 찾을 수 없습니다."));
     
         // 제목과 내용 수정
@@ -91,116 +123,201 @@ public class PostService {
         previous.setUpdatedAt(LocalDateTime.now()); // 현재 시간으로 수정일자 설정
     
         // 첨부파일 삭제 처리
+        int deleted = 0;
         if (deleteAttachmentIds != null && !deleteAttachmentIds.isEmpty()) {
             for (Long attachmentId : deleteAttachmentIds) {
                 Attachment attachment = attachmentRepository.findById(attachmentId)
                         .orElseThrow(() -> new RuntimeException("해당 첨부파일을 찾을 수 없습니다."));
-                Path filePath = Paths.get("uploads/", attachment.getSavedName());   // 첨부파일 경로 탐색
-                try {
-                    Files.deleteIfExists(filePath); // 파일 삭제
-                } catch (IOException e) {
-                    throw new RuntimeException("첨부파일 삭제 중 오류 발생", e);
+                if (!attachment.getPost().getId().equals(id)) {   // 다른 게시물의 첨부파일은 지우지 않음 (카운터가 어긋나지 않도록)
+                    throw new IllegalArgumentException("이 게시물의 첨부파일이 아닙니다.");
                 }
                 attachmentRepository.delete(attachment); // 첨부파일 엔티티 삭제
+                enqueueDeletion(attachment);    // 파일은 커밋 후 백그라운드에서 삭제
+                deleted++;
             }
         }
     
         // 새 파일 추가 처리
-        for (MultipartFile newFile : newFiles) {
-            if (!newFile.isEmpty()) {
-                try {
-                    // 파일 저장
-                    String savedFileName = saveFile(newFile);
-    
-                    // 첨부파일 엔티티 생성 및 저장
-                    Attachment newAttachment = Attachment.builder()
-                            .post(previous)
-                            .savedName(savedFileName)
-                            .originalName(newFile.getOriginalFilename())
-                            .build();
-                    attachmentRepository.save(newAttachment);
-    
-                    // Post에 첨부파일 추가
-                    previous.getAttachments().add(newAttachment);
-                } catch (Exception e) {
-                    throw new RuntimeException("첨부파일 추가 중 오류 발생", e);
-                }
-            }
+        List<Long> storedIds = new ArrayList<>();
+        for (StoredFile newFile : newFiles) {
+            // 첨부파일 엔티티 생성 및 저장
+            Attachment newAttachment = toAttachment(previous, newFile);
+            attachmentRepository.save(newAttachment);
+            storedIds.add(newAttachment.getId());
+
+            // Post에 첨부파일 추가
+            previous.getAttachments().add(newAttachment);
         }
         postRepository.save(previous);
+        if (newFiles.size() != deleted) {
+            postRepository.adjustAttachmentCount(id, newFiles.size() - deleted);
+        }
+        eventPublisher.publishEvent(new PostIndexEvent(id));
+        if (!storedIds.isEmpty()) {
+            eventPublisher.publishEvent(new AttachmentsStoredEvent(storedIds));
+        }
     }
     
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.POSTS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.COMMENTS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true)
+    })
     public void deletePost(Long id) {
         Post post = postRepository.findById(id).orElseThrow(() -> new RuntimeException("해당 게시물을 찾을 수 없습니다."));   // ID로 포스트 찾기
-        // 첨부파일 삭제 처리
+        // 첨부파일 삭제 처리 (파일은 커밋 후 백그라운드에서 삭제)
         for (Attachment attachment : post.getAttachments()) {
-            Path filePath = Paths.get("uploads/", attachment.getSavedName());   // 첨부파일 경로 탐색
-            try {
-                Files.deleteIfExists(filePath); // 파일 삭제
-            } catch (IOException e) {
-                throw new RuntimeException("첨부파일 삭제 중 오류 발생", e);
-            }
+            enqueueDeletion(attachment);
         }
         postRepository.deleteById(id);   // ID로 포스트 삭제
+        postCountCache.adjust(-1);
+        eventPublisher.publishEvent(new PostIndexEvent(id));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.POST_PAGES, key = "'page:' + #page + ':' + #size", condition = "#page < 5")   // 앞쪽 5페이지만 캐시
+    public Page<PostSummary> getPostPage(int page, int size) {     // 포스트 페이지 가져오기
+        Pageable pageable = PageRequest.of(page, size);
+        Slice<PostSummary> slice = postRepository.findLatest(pageable);    // count 쿼리 없이 조회
+        return new PageImpl<>(slice.getContent(), pageable, postCountCache.get());   // 총 개수는 캐시된 값 사용
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.POST_PAGES, key = "'discussed:' + #page + ':' + #size", condition = "#page < 5")
+    public Page<PostSummary> getDiscussedPage(int page, int size) {   // 댓글 많은 순 (카운터 컬럼 인덱스 사용)
+        Pageable pageable = PageRequest.of(page, size);
+        Slice<PostSummary> slice = postRepository.findMostDiscussed(pageable);
+        return new PageImpl<>(slice.getContent(), pageable, postCountCache.get());
     }
 
-    public Page<Post> getPostPage(int page, int size) {     // 포스트 페이지 가져오기
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        return postRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.POST_PAGES, key = "'first:' + #size", condition = "#cursor == null or #cursor.isEmpty()")  // 첫 페이지만 캐시
+    public PostSlice getPostSlice(String cursor, boolean previous, int size) {   // 커서 방식 포스트 목록 가져오기
+        Pageable limit = PageRequest.of(0, size);
+        if (cursor == null || cursor.isEmpty()) {   // 첫 페이지
+            Slice<PostSummary> slice = postRepository.findLatest(limit);
+            return toPostSlice(slice.getContent(), false, slice.hasNext());
+        }
+
+        KeysetCursor key = KeysetCursor.decode(cursor);
+        if (previous) {
+            Slice<PostSummary> slice = postRepository.findNewerThan(key.getCreatedAt(), key.getId(), limit);
+            if (!slice.hasNext()) {     // 더 최신 글이 한 페이지 이하로 남았으면 첫 페이지로
+                return getPostSlice(null, false, size);
+            }
+            List<PostSummary> content = new ArrayList<>(slice.getContent());
+            Collections.reverse(content);   // 다시 최신순으로
+            return toPostSlice(content, true, true);
+        }
+        Slice<PostSummary> slice = postRepository.findOlderThan(key.getCreatedAt(), key.getId(), limit);
+        return toPostSlice(slice.getContent(), true, slice.hasNext());
     }
 
-    public void savePost(Post post) {   // 조회수 증가용 메소드
-        postRepository.save(post);
+    private PostSlice toPostSlice(List<PostSummary> content, boolean hasPrevious, boolean hasNext) {
+        if (content.isEmpty()) {
+            return new PostSlice(content, null, null);
+        }
+        PostSummary first = content.get(0);
+        PostSummary last = content.get(content.size() - 1);
+        return new PostSlice(content,
+                hasPrevious ? new KeysetCursor(first.getCreatedAt(), first.getId()).encode() : null,
+                hasNext ? new KeysetCursor(last.getCreatedAt(), last.getId()).encode() : null);
     }
 
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.POSTS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.COMMENTS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true)   // 목록의 댓글 수 갱신
+    })
     public void saveComment(CommentDTO commentDTO, Long id, String author) {   // 댓글 저장용 메소드
         Post post = postRepository.findById(id).orElseThrow(() -> new RuntimeException("해당 게시물을 찾을 수 없습니다."));   // ID로 포스트 찾기
+        LocalDateTime now = LocalDateTime.now();
         Comment comment = Comment.builder()
                 .content(commentDTO.getContent())
                 .author(author)
-                .createdAt(LocalDateTime.now())   // 현재 시간으로 생성일자 설정
+                .createdAt(now)   // 현재 시간으로 생성일자 설정
                 .post(post)   // 포스트 설정
                 .build();
         commentRepository.save(comment);
+        postRepository.adjustCommentCount(id, 1, now);   // 댓글 저장과 같은 트랜잭션에서 카운터 증가
+        eventPublisher.publishEvent(new PostIndexEvent(id, comment.getId()));
     }
 
-    public void updateComment(Long id, CommentDTO commentDTO) {   // 댓글 수정용 메소드
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.POSTS, key = "#result"),
+        @CacheEvict(cacheNames = CacheConfig.COMMENTS, key = "#result")
+    })
+    public Long updateComment(Long id, CommentDTO commentDTO) {   // 댓글 수정용 메소드, 댓글이 속한 포스트 ID 반환
         Comment previous = commentRepository.findById(id).orElseThrow(() -> new RuntimeException("해당 댓글을 찾을 수 없습니다."));   // ID로 댓글 찾기
+        LocalDateTime now = LocalDateTime.now();
         previous.setContent(commentDTO.getContent());
+        previous.setUpdatedAt(now);
         commentRepository.save(previous);   // 수정된 댓글 저장
+        postRepository.touchLastCommentAt(previous.getPost().getId(), now);   // 상세 페이지 ETag 갱신
+        eventPublisher.publishEvent(new PostIndexEvent(previous.getPost().getId(), id));
+        return previous.getPost().getId();
     }
 
-    public void deleteComment(Long id) {   // 댓글 삭제용 메소드
-        commentRepository.deleteById(id);   // ID로 댓글 삭제
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.POSTS, key = "#result"),
+        @CacheEvict(cacheNames = CacheConfig.COMMENTS, key = "#result"),
+        @CacheEvict(cacheNames = CacheConfig.POST_PAGES, allEntries = true)   // 목록의 댓글 수 갱신
+    })
+    public Long deleteComment(Long id) {   // 댓글 삭제용 메소드, 댓글이 속한 포스트 ID 반환
+        Comment comment = commentRepository.findById(id).orElseThrow(() -> new RuntimeException("해당 댓글을 찾을 수 없습니다."));   // ID로 댓글 찾기
+        commentRepository.delete(comment);   // 댓글 삭제
+        postRepository.adjustCommentCount(comment.getPost().getId(), -1, LocalDateTime.now());
+        eventPublisher.publishEvent(new PostIndexEvent(comment.getPost().getId(), id));
+        return comment.getPost().getId();
     }
 
-    public String saveFile(MultipartFile file) {    // 파일 저장 메소드
+    public List<StoredFile> saveFiles(List<MultipartFile> files) {   // 여러 파일 저장 (DB 트랜잭션 밖에서 호출), 하나라도 실패하면 이미 저장한 파일 삭제
+        List<StoredFile> storedFiles = new ArrayList<>();
         try {
-            // 원래 파일명 가져오기
-            String originalFilename = file.getOriginalFilename();
-            if (originalFilename == null || originalFilename.isEmpty()) {
-                throw new RuntimeException("파일 이름이 유효하지 않습니다.");
+            for (MultipartFile file : files) {
+                if (!file.isEmpty()) {
+                    Timer.Sample sample = attachmentMetrics.start();
+                    StoredFile stored = attachmentStorage.store(file);
+                    attachmentMetrics.uploaded(sample, stored.getSize());
+                    storedFiles.add(stored);
+                    attachmentCompressor.precompress(stored);   // 텍스트류는 gzip 사본도 저장
+                }
             }
+        } catch (RuntimeException e) {
+            discardFiles(storedFiles);
+            throw e;
+        }
+        return storedFiles;
+    }
 
-            // 고유한 파일명 생성
-            String safeFilename = System.currentTimeMillis() + "_" + UUID.randomUUID().toString();
-
-            // 업로드 경로 생성 (최초 한번만 실행)
-            Path uploadPath = Paths.get(System.getProperty("user.dir"), "uploads/");    // 현재 작업 디렉토리 기준으로 uploads 폴더 생성
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+    public void discardFiles(List<StoredFile> storedFiles) {    // DB 저장에 실패한 경우 미리 저장한 파일 정리
+        for (StoredFile storedFile : storedFiles) {
+            try {
+                attachmentStorage.release(storedFile.getSavedName());
+            } catch (RuntimeException ignored) {
+                // 남은 파일은 고아 파일로 남음
             }
+        }
+    }
 
-            // 파일 저장 경로 설정
-            Path filePath = uploadPath.resolve(safeFilename);   // uploadPath에 safeFilename을 결합
-
-            // 파일 저장
-            file.transferTo(filePath.toFile());
+    private void enqueueDeletion(Attachment attachment) {   // 같은 트랜잭션에서 파일 삭제 대기열에 추가
+        attachmentDeletionRepository.save(AttachmentDeletion.builder()
+                .savedName(attachment.getSavedName())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
 
-            // 저장된 파일명 반환
-            return safeFilename;
-        } catch (IOException e) {
-            throw new RuntimeException("파일 저장 중 오류가 발생했습니다.", e);
-        }
+    private Attachment toAttachment(Post post, StoredFile storedFile) {   // 저장된 파일 -> 첨부파일 엔티티
+        return Attachment.builder()
+                .post(post)
+                .savedName(storedFile.getSavedName())
+                .originalName(storedFile.getOriginalName())
+                .size(storedFile.getSize())
+                .contentHash(storedFile.getContentHash())
+                .build();
     }
 }
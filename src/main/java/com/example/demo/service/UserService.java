@@ -1,45 +1,85 @@
 package com.example.demo.service;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import com.example.demo.config.CacheConfig;
 import com.example.demo.model.User;
 import com.example.demo.dto.RegisterDTO;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.dto.UserlistDTO;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.demo.dto.UserSlice;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "board.service", histogram = true)   // 메소드별 소요 시간 (class, method 태그)
 public class UserService {
   
+  private static final int EXPORT_BATCH_SIZE = 1000;   // 내보내기 한 번에 읽는 행 수
+
   private final UserRepository userRepository;
-  private final BCryptPasswordEncoder bCryptPasswordEncoder;
+  private final PasswordEncoder passwordEncoder;   // 전용 스레드 풀에서 해시 (가득 차면 429)
+
+  @Value("${board.users.page-size:50}")
+  private int pageSize;   // 관리자 유저 목록 한 페이지 크기
   
-  public List<User> getUserListByJpa() {  // 유저 리스트 반환
-    return userRepository.findAll();
+  @Transactional(readOnly = true)
+  public UserSlice getUserSlice(String query, boolean byEmail, String after) {   // 아이디/이메일 접두어 검색, after 다음부터 한 페이지
+    String prefix = (query == null ? "" : query.trim()).replaceAll("[!%_]", "!$0") + "%";  // LIKE 특수문자 이스케이프 ('!')
+    String from = after == null ? "" : after;
+    Pageable limit = PageRequest.of(0, pageSize);
+    Slice<UserlistDTO> slice = byEmail
+            ? userRepository.findByEmailPrefix(prefix, from, limit)
+            : userRepository.findByUsernamePrefix(prefix, from, limit);
+    List<UserlistDTO> content = slice.getContent();
+    String nextAfter = null;
+    if (slice.hasNext() && !content.isEmpty()) {
+      UserlistDTO last = content.get(content.size() - 1);
+      nextAfter = byEmail ? last.getEmail() : last.getUsername();
+    }
+    return new UserSlice(content, nextAfter);
   }
 
-  public List<UserlistDTO> getUserListDTO() {   // 유저 리스트 DTO 반환
-    List<User> users = userRepository.findAll();
-    return users.stream()
-            .map(user -> UserlistDTO.builder()
-                    .id(user.getId())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .build())
-            .toList();
-  } 
+  // 전체 유저를 id순으로 한 행씩 전달, 내보낸 수 반환
+  // 묶음마다 커넥션을 잡았다 바로 돌려주므로 느린 클라이언트가 내려받는 동안 커넥션을 붙잡지 않는다 (누수 감지 경고도 없음)
+  public long exportUsers(Consumer<UserlistDTO> sink) {
+    long count = 0;
+    long after = 0;
+    Pageable batch = PageRequest.of(0, EXPORT_BATCH_SIZE);
+    List<UserlistDTO> users;
+    do {
+      users = userRepository.findExportBatch(after, batch);
+      for (UserlistDTO user : users) {
+        sink.accept(user);
+        count++;
+        after = user.getId();
+      }
+    } while (users.size() == EXPORT_BATCH_SIZE);
+    return count;
+  }
 
+  @Transactional(readOnly = true)
   public User getUserByUsername(String username) {   // 유저 아이디로 찾기
     return userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("유저를 찾을 수 없습니다."));
   }
 
+  @Transactional(readOnly = true)
   public User getUserById(Long id) {
     return userRepository.findById(id).orElseThrow(() -> new RuntimeException("유저를 찾을 수 없습니다."));
   }
   
+  @Transactional
   public void saveUser(RegisterDTO RegisterDTO) {    // 유저 등록
+    String encodedPassword = passwordEncoder.encode(RegisterDTO.getPassword());  // 비밀번호 암호화 (커넥션을 잡기 전에 해시)
     if (userRepository.existsByUsername(RegisterDTO.getUsername())) {
       throw new IllegalArgumentException("이미 등록된 아이디입니다.");
     }
@@ -55,27 +95,35 @@ public class UserService {
     User user = User.builder()
             .username(RegisterDTO.getUsername())
             .email(RegisterDTO.getEmail())
-            .password(bCryptPasswordEncoder.encode(RegisterDTO.getPassword()))  // 비밀번호 암호화
+            .password(encodedPassword)
             .role(role)  // 기본 권한 설정 (Enum 타입으로 설정)
             .build();
     userRepository.save(user);
   }
 
+  @Transactional
+  @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#RegisterDTO.username")   // 커밋 후 비움, 바뀐 비밀번호로 다시 인증
   public void updateUser(RegisterDTO RegisterDTO) {   // 유저 수정
-    if (!RegisterDTO.getEmail().equals(userRepository.findByUsername(RegisterDTO.getUsername()).orElseThrow(() -> new RuntimeException("유저를 찾을 수 없습니다.")).getEmail())  // 엔티티 이메일과 입력 이메일 비교
+    String encodedPassword = passwordEncoder.encode(RegisterDTO.getPassword());  // 커넥션을 잡기 전에 해시
+    User user = userRepository.findByUsername(RegisterDTO.getUsername()).orElseThrow(() -> new RuntimeException("유저를 찾을 수 없습니다."));  // 이 트랜잭션의 영속 엔티티
+    if (!RegisterDTO.getEmail().equals(user.getEmail())  // 엔티티 이메일과 입력 이메일 비교
         && userRepository.existsByEmail(RegisterDTO.getEmail())) {  // 이메일 중복 검사(이메일이 변경되지 않을 경우 검사하지 않음)
         throw new IllegalArgumentException("이미 등록된 이메일입니다.");
     }
-    User user = userRepository.findByUsername(RegisterDTO.getUsername()).orElseThrow(() -> new RuntimeException("유저를 찾을 수 없습니다."));
     user.setEmail(RegisterDTO.getEmail());
-    user.setPassword(bCryptPasswordEncoder.encode(RegisterDTO.getPassword()));
+    user.setPassword(encodedPassword);
     userRepository.save(user);
   }
 
-  public void deleteUser(Long id) {  // 유저 삭제
-    userRepository.deleteById(id);
+  @Transactional
+  @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#result")
+  public String deleteUser(Long id) {  // 유저 삭제, 삭제된 아이디 반환
+    User user = getUserById(id);
+    userRepository.delete(user);
+    return user.getUsername();
   }
 
+  @Transactional(readOnly = true)
   public RegisterDTO getUserDTOById(Long id) {  // 유저 id로 DTO 찾기
     User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("유저를 찾을 수 없습니다."));
     return RegisterDTO.builder()
@@ -0,0 +1,108 @@
+package com.example.demo.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.config.CacheConfig;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 게시물 조회수를 메모리에 모아 두었다가 주기적으로 한 번의 batch UPDATE로 반영한다.
+ * 읽기 요청 스레드는 카운터만 올리고 DB에는 쓰지 않는다.
+ * 증가(merge)와 flush의 꺼내기(remove)는 모두 ConcurrentHashMap의 원자적 연산이므로,
+ * 이미 꺼낸 카운터에 늦게 더해져 사라지는 조회수가 없다.
+ */
+@Slf4j
+@Service
+public class ViewCountService {
+
+    private static final String FLUSH_SQL = "UPDATE posts SET views = views + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler taskScheduler;
+    private final CacheManager cacheManager;
+    private final long maxPending;  // 이 값 이상 쌓이면 주기를 기다리지 않고 flush
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();   // 포스트 ID별 미반영 조회수
+    private final LongAdder unflushed = new LongAdder();   // 전체 미반영 조회수
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ViewCountService(JdbcTemplate jdbcTemplate, TaskScheduler taskScheduler, CacheManager cacheManager,
+                            @Value("${board.views.max-pending:10000}") long maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskScheduler = taskScheduler;
+        this.cacheManager = cacheManager;
+        this.maxPending = maxPending;
+    }
+
+    public long increment(Long postId) {    // 조회수 1 증가, 해당 포스트의 미반영 조회수 반환
+        long counter = pending.merge(postId, 1L, Long::sum);
+        unflushed.increment();
+
+        if (unflushed.sum() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());   // 요청 스레드가 아닌 스케줄러 스레드에서 flush
+        }
+        return counter;
+    }
+
+    public long getPending(Long postId) {   // 아직 DB에 반영되지 않은 조회수
+        return pending.getOrDefault(postId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${board.views.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();   // 주기 flush와 임계치 flush가 겹치지 않도록
+        try {
+            flushRequested.set(false);
+            List<Object[]> batch = new ArrayList<>();
+            for (Long postId : pending.keySet()) {
+                Long delta = pending.remove(postId);    // 꺼낸 뒤의 증가는 새 항목으로 쌓여 다음 주기에 반영
+                if (delta != null && delta > 0) {
+                    batch.add(new Object[] { delta, postId });
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            long flushed = batch.stream().mapToLong(row -> (Long) row[0]).sum();
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                unflushed.add(-flushed);
+                Cache posts = cacheManager.getCache(CacheConfig.POSTS);
+                if (posts != null) {    // 캐시된 상세 페이지의 조회수 갱신
+                    batch.forEach(row -> posts.evict(row[1]));
+                }
+            } catch (RuntimeException e) {
+                // 반영 실패 시 증가분을 되돌려 다음 주기에 다시 시도
+                for (Object[] row : batch) {
+                    pending.merge((Long) row[1], (Long) row[0], Long::sum);
+                }
+                log.warn("조회수 반영 실패 ({}건), 다음 주기에 재시도합니다.", batch.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void drain() {   // 종료 시 남은 조회수 반영
+        flush();
+    }
+}
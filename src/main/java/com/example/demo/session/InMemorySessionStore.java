@@ -0,0 +1,77 @@
+package com.example.demo.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인스턴스 메모리에 세션을 두는 저장소 (테스트, 단일 인스턴스용).
+ * JDBC 저장소와 같은 바이너리 형식으로 저장한다.
+ */
+@Component
+@ConditionalOnProperty(name = "board.session.store", havingValue = "memory")
+public class InMemorySessionStore implements SessionStore {
+
+    private final ConcurrentHashMap<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final long idleTimeoutMillis;
+    private final Clock clock;
+
+    @Autowired
+    public InMemorySessionStore(@Value("${board.session.idle-timeout:30m}") Duration idleTimeout) {
+        this(idleTimeout, Clock.systemUTC());
+    }
+
+    public InMemorySessionStore(Duration idleTimeout, Clock clock) {    // 테스트에서 시각을 정할 때
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<SessionPrincipal> find(String sessionId) {
+        Entry entry = sessions.get(sessionId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long now = clock.millis();
+        if (entry.lastAccess < now - idleTimeoutMillis) {
+            sessions.remove(sessionId, entry);
+            return Optional.empty();
+        }
+        entry.lastAccess = now;
+        return Optional.ofNullable(SessionCodec.decode(entry.data));
+    }
+
+    @Override
+    public void save(String sessionId, SessionPrincipal principal) {
+        sessions.put(sessionId, new Entry(SessionCodec.encode(principal), clock.millis()));
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    @Override
+    public int evictIdle(Duration idleTimeout) {
+        long idleBefore = clock.millis() - idleTimeout.toMillis();
+        int before = sessions.size();
+        sessions.values().removeIf(entry -> entry.lastAccess < idleBefore);
+        return before - sessions.size();
+    }
+
+    private static final class Entry {
+        private final byte[] data;
+        private volatile long lastAccess;
+
+        private Entry(byte[] data, long lastAccess) {
+            this.data = data;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.session;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * user_sessions 테이블에 세션을 두는 저장소 (V9__user_sessions.sql).
+ * 모든 인스턴스가 같은 테이블을 읽으므로 로드밸런서에 고정 세션(sticky session)이 필요 없다.
+ * 요청마다 쓰지 않도록 마지막 접근 시각은 touch-interval이 지났을 때만 갱신한다.
+ */
+@Component
+@ConditionalOnProperty(name = "board.session.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcSessionStore implements SessionStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long idleTimeoutMillis;
+    private final long touchIntervalMillis;
+
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate,
+                            @Value("${board.session.idle-timeout:30m}") Duration idleTimeout,
+                            @Value("${board.session.touch-interval:1m}") Duration touchInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.touchIntervalMillis = touchInterval.toMillis();
+    }
+
+    @Override
+    public Optional<SessionPrincipal> find(String sessionId) {
+        List<Row> rows = jdbcTemplate.query("SELECT data, last_access_at FROM user_sessions WHERE id = ?",
+                (rs, rowNum) -> new Row(rs.getBytes(1), rs.getLong(2)), sessionId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Row row = rows.get(0);
+        long now = System.currentTimeMillis();
+        if (row.lastAccess < now - idleTimeoutMillis) {
+            delete(sessionId);
+            return Optional.empty();
+        }
+        if (row.lastAccess < now - touchIntervalMillis) {
+            jdbcTemplate.update("UPDATE user_sessions SET last_access_at = ? WHERE id = ?", now, sessionId);
+        }
+        return Optional.ofNullable(SessionCodec.decode(row.data));
+    }
+
+    @Override
+    public void save(String sessionId, SessionPrincipal principal) {
+        jdbcTemplate.update("INSERT INTO user_sessions (id, data, last_access_at) VALUES (?, ?, ?)",
+                sessionId, SessionCodec.encode(principal), System.currentTimeMillis());
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        jdbcTemplate.update("DELETE FROM user_sessions WHERE id = ?", sessionId);
+    }
+
+    @Override
+    public int evictIdle(Duration idleTimeout) {
+        return jdbcTemplate.update("DELETE FROM user_sessions WHERE last_access_at < ?",
+                System.currentTimeMillis() - idleTimeout.toMillis());
+    }
+
+    private static final class Row {
+        private final byte[] data;
+        private final long lastAccess;
+
+        private Row(byte[] data, long lastAccess) {
+            this.data = data;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SessionPrincipal 바이너리 형식: 버전(1바이트) + 아이디(UTF) + 권한 수(2바이트) + 권한(UTF)...
+ * 버전 1(권한 하나)로 저장된 세션도 읽는다.
+ * Java 직렬화를 쓰지 않으므로 클래스가 바뀌어도 저장된 세션을 읽을 수 있고 크기도 수십 바이트다.
+ */
+public final class SessionCodec {
+
+    private static final int VERSION = 2;
+    private static final int SINGLE_ROLE_VERSION = 1;
+
+    private SessionCodec() {
+    }
+
+    public static byte[] encode(SessionPrincipal principal) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(principal.getUsername());
+            out.writeShort(principal.getRoles().size());
+            for (String role : principal.getRoles()) {
+                out.writeUTF(role);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static SessionPrincipal decode(byte[] data) {    // 알 수 없는 형식이면 null (세션 없음으로 처리)
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readUnsignedByte();
+            if (version == SINGLE_ROLE_VERSION) {
+                return new SessionPrincipal(in.readUTF(), List.of(in.readUTF()));
+            }
+            if (version != VERSION) {
+                return null;
+            }
+            String username = in.readUTF();
+            int count = in.readUnsignedShort();
+            List<String> roles = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                roles.add(in.readUTF());
+            }
+            return new SessionPrincipal(username, roles);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
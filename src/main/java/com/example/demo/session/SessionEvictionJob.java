@@ -0,0 +1,34 @@
+package com.example.demo.session;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 유휴 시간이 지난 세션을 주기적으로 삭제한다 (로그아웃하지 않고 떠난 사용자).
+ * 여러 인스턴스가 같은 테이블에서 실행해도 같은 행을 지울 뿐이다.
+ */
+@Slf4j
+@Service
+public class SessionEvictionJob {
+
+    private final SessionStore sessionStore;
+    private final Duration idleTimeout;
+
+    public SessionEvictionJob(SessionStore sessionStore, @Value("${board.session.idle-timeout:30m}") Duration idleTimeout) {
+        this.sessionStore = sessionStore;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${board.session.evict-interval-ms:60000}")
+    public void evict() {
+        int evicted = sessionStore.evictIdle(idleTimeout);
+        if (evicted > 0) {
+            log.debug("유휴 세션 {}건 삭제", evicted);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.session;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SessionPrincipal {     // 세션에 저장하는 로그인 정보 (엔티티, UserDetails 전체가 아닌 아이디 + 권한)
+    private String username;
+    private List<String> roles;     // ROLE_USER, ROLE_ADMIN 등 부여된 권한 전부
+}
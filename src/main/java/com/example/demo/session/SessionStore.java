@@ -0,0 +1,19 @@
+package com.example.demo.session;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 로그인 세션 저장소. 서버 메모리의 HttpSession 대신 사용해 여러 인스턴스가 세션을 공유한다.
+ * board.session.store 속성으로 구현을 고른다 (jdbc: MySQL user_sessions 테이블, memory: 인스턴스 메모리, 테스트용).
+ */
+public interface SessionStore {
+
+    Optional<SessionPrincipal> find(String sessionId);     // 세션 조회 (마지막 접근 시각 갱신), 없거나 유휴 시간이 지났으면 empty
+
+    void save(String sessionId, SessionPrincipal principal);   // 새 세션 저장
+
+    void delete(String sessionId);
+
+    int evictIdle(Duration idleTimeout);    // 유휴 시간이 지난 세션 삭제, 삭제한 수 반환
+}
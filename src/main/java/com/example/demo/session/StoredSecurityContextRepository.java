@@ -0,0 +1,167 @@
+package com.example.demo.session;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * SecurityContext를 HttpSession 대신 SessionStore에 저장한다.
+ * 쿠키에는 임의의 세션 ID만 담고, 저장소에는 아이디와 권한만 저장해 요청마다 인증 객체를 다시 만든다.
+ * 로그인할 때마다 새 세션 ID를 발급한다 (세션 고정 공격 방지).
+ */
+public class StoredSecurityContextRepository implements SecurityContextRepository {
+
+    private static final int ID_BYTES = 32;     // base64url 43자
+    private static final String LOADED_ATTRIBUTE = StoredSecurityContextRepository.class.getName() + ".LOADED";  // 요청 안에서 저장소를 한 번만 조회
+    private static final Object NO_SESSION = new Object();
+
+    private final SessionStore sessionStore;
+    private final String cookieName;
+    private final SecureRandom random = new SecureRandom();
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+    private final SecurityContextHolderStrategy holderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+    public StoredSecurityContextRepository(SessionStore sessionStore, String cookieName) {
+        this.sessionStore = sessionStore;
+        this.cookieName = cookieName;
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        SecurityContext context = load(requestResponseHolder.getRequest());
+        return context != null ? context : holderStrategy.createEmptyContext();
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {   // 인증 정보가 필요할 때 저장소 조회
+        return new DeferredSecurityContext() {
+            private SecurityContext context;
+            private boolean generated;
+
+            @Override
+            public SecurityContext get() {
+                if (context == null) {
+                    context = load(request);
+                    if (context == null) {
+                        context = holderStrategy.createEmptyContext();
+                        generated = true;
+                    }
+                }
+                return context;
+            }
+
+            @Override
+            public boolean isGenerated() {
+                get();
+                return generated;
+            }
+        };
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        // 명시적 저장만 사용 (로그인 성공, 로그아웃), 요청이 끝날 때마다 저장하지 않음
+        String current = sessionId(request);
+        if (current != null) {
+            sessionStore.delete(current);
+        }
+        request.removeAttribute(LOADED_ATTRIBUTE);
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || trustResolver.isAnonymous(authentication)) {     // 로그아웃
+            if (current != null) {
+                writeCookie(request, response, "", Duration.ZERO);
+            }
+            return;
+        }
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        String sessionId = newSessionId();
+        sessionStore.save(sessionId, new SessionPrincipal(authentication.getName(), roles));
+        writeCookie(request, response, sessionId, null);
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {   // loadDeferredContext가 이미 읽었으면 그 결과 사용
+        return load(request) != null;
+    }
+
+    private SecurityContext load(HttpServletRequest request) {
+        Object loaded = request.getAttribute(LOADED_ATTRIBUTE);
+        if (loaded != null) {
+            return loaded == NO_SESSION ? null : (SecurityContext) loaded;
+        }
+        SecurityContext context = read(request);
+        request.setAttribute(LOADED_ATTRIBUTE, context != null ? context : NO_SESSION);
+        return context;
+    }
+
+    private SecurityContext read(HttpServletRequest request) {
+        String sessionId = sessionId(request);
+        if (sessionId == null) {
+            return null;
+        }
+        Optional<SessionPrincipal> stored = sessionStore.find(sessionId);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = stored.get().getRoles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        UserDetails principal = User.withUsername(stored.get().getUsername())
+                .password("")   // 비밀번호는 저장하지 않음
+                .authorities(authorities)
+                .build();
+        SecurityContext context = holderStrategy.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities));
+        return context;
+    }
+
+    private String sessionId(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, cookieName);
+        return cookie == null || cookie.getValue().isEmpty() ? null : cookie.getValue();
+    }
+
+    private String newSessionId() {
+        byte[] bytes = new byte[ID_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private void writeCookie(HttpServletRequest request, HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie.ResponseCookieBuilder cookie = ResponseCookie.from(cookieName, value)
+                .path("/")
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax");
+        if (maxAge != null) {   // null이면 브라우저 세션 쿠키
+            cookie.maxAge(maxAge);
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.build().toString());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.storage;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.demo.dto.StoredFile;
+
+/**
+ * 첨부파일 저장소.
+ * board.storage.type 속성으로 구현을 고른다 (cas: 내용 주소 기반 중복 제거 저장소, local: 업로드마다 새 파일).
+ */
+public interface AttachmentStorage {
+
+    StoredFile store(MultipartFile file);   // 업로드 파일 저장 (DB 트랜잭션 밖에서 호출)
+
+    Path resolve(String savedName);     // 저장된 이름 -> 실제 파일 경로
+
+    default Path resolve(String savedName, Derivative derivative) {    // 원본 옆의 파생 파일 경로
+        Path original = resolve(savedName);
+        return original.resolveSibling(derivative.nameFor(original.getFileName().toString()));
+    }
+
+    void release(String savedName);     // 첨부파일 행이 삭제되었거나 저장이 취소된 파일 반납 (다른 행이 참조하지 않으면 삭제)
+
+    void delete(String savedName);      // 참조가 없다고 확인된 파일 삭제 (파생 파일 포함)
+
+    List<String> list();    // 저장된 모든 원본 파일 이름 (고아 파일 정리용, 파생 파일 제외)
+
+    default void purgeTemporary(Instant cutoff) {   // cutoff 이전에 만들어진 임시 파일 삭제
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.demo.storage;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.demo.dto.StoredFile;
+import com.example.demo.repository.AttachmentRepository;
+
+/**
+ * 내용 주소 기반 저장소. 파일을 SHA-256 이름으로 uploads/cas/ab/cd/{해시}에 한 번만 저장하고,
+ * 같은 내용의 첨부파일 행들이 하나의 blob을 공유한다 (참조 수 = 해당 해시를 가진 Attachment 행 수).
+ * 참조가 없어진 blob은 유예 시간이 지난 뒤 삭제한다 (AttachmentSweeper).
+ * 같은 해시의 저장(있으면 수정 시각 갱신, 없으면 이동)과 삭제(참조/수정 시각 확인 후 삭제)는 해시별 잠금 안에서 실행해서,
+ * 삭제 쪽이 확인을 마친 뒤 저장 쪽이 기존 blob을 재사용하고 그 blob이 지워지는 일이 없게 한다.
+ * 잠금은 인스턴스 안에서만 유효하다 (업로드 디렉토리를 여러 인스턴스가 공유하지 않는다고 가정).
+ */
+@Component
+@ConditionalOnProperty(name = "board.storage.type", havingValue = "cas", matchIfMissing = true)
+public class ContentAddressedAttachmentStorage extends FileSystemAttachmentStorage {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];    // 해시별 잠금 (해시 수만큼 만들지 않고 나눠 씀)
+
+    private final AttachmentRepository attachmentRepository;
+    private final Path blobRoot;
+    private final Path tempRoot;
+    private final Duration gracePeriod;     // 업로드 직후 아직 커밋되지 않은 행의 blob을 지우지 않도록 두는 유예 시간
+
+    public ContentAddressedAttachmentStorage(AttachmentRepository attachmentRepository,
+                                             @Value("${board.storage.root:uploads}") String root,
+                                             @Value("${board.storage.grace-period:PT1H}") Duration gracePeriod) throws IOException {
+        super(Paths.get(root));
+        this.attachmentRepository = attachmentRepository;
+        this.blobRoot = Files.createDirectories(this.root.resolve("cas"));
+        this.tempRoot = Files.createDirectories(this.root.resolve("tmp"));
+        this.gracePeriod = gracePeriod;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public StoredFile store(MultipartFile file) {
+        Path temp = tempRoot.resolve(UUID.randomUUID().toString());
+        StoredFile stored = copy(file, temp, null);     // 해시 계산 후 임시 파일로 옮김
+        Path blob = blobPath(stored.getContentHash());
+        ReentrantLock lock = lockFor(stored.getContentHash());
+        lock.lock();
+        try {
+            Files.createDirectories(blob.getParent());
+            if (Files.exists(blob)) {   // 이미 같은 내용이 있으면 새로 쓰지 않음
+                deleteQuietly(temp);
+                Files.setLastModifiedTime(blob, FileTime.from(Instant.now()));  // 유예 시간 갱신
+            } else {
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (FileAlreadyExistsException e) {    // 같은 내용이 동시에 올라온 경우
+            deleteQuietly(temp);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new RuntimeException("파일 저장 중 오류가 발생했습니다.", e);
+        } finally {
+            lock.unlock();
+        }
+        return stored;
+    }
+
+    @Override
+    public Path resolve(String savedName) {
+        if (HASH.matcher(savedName).matches()) {
+            return blobPath(savedName);
+        }
+        return root.resolve(savedName);     // 내용 주소 저장소 도입 전 파일
+    }
+
+    @Override
+    public void release(String savedName) {
+        // 다른 행이 같은 blob을 참조하거나, 유예 시간 안에 같은 내용이 다시 올라왔으면 남겨 둔다 (남은 파일은 AttachmentSweeper가 정리)
+        ReentrantLock lock = lockFor(savedName);
+        lock.lock();
+        try {
+            if (!attachmentRepository.existsBySavedName(savedName) && olderThan(resolve(savedName), Instant.now().minus(gracePeriod))) {
+                super.delete(savedName);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(String savedName) {
+        // AttachmentSweeper가 확인한 뒤 같은 내용이 다시 올라와 수정 시각이 갱신됐을 수 있으므로 잠금 안에서 다시 확인
+        ReentrantLock lock = lockFor(savedName);
+        lock.lock();
+        try {
+            if (olderThan(resolve(savedName), Instant.now().minus(gracePeriod))) {
+                super.delete(savedName);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<String> list() {
+        List<String> names = new ArrayList<>(listFiles(root));  // 도입 전 파일
+        try (Stream<Path> files = Files.walk(blobRoot)) {
+            files.filter(Files::isRegularFile)
+                    .map(file -> file.getFileName().toString())
+                    .filter(name -> HASH.matcher(name).matches())
+                    .forEach(names::add);
+        } catch (IOException e) {
+            throw new RuntimeException("첨부파일 목록 조회 중 오류 발생", e);
+        }
+        return names;
+    }
+
+    @Override
+    public void purgeTemporary(Instant cutoff) {
+        listFiles(tempRoot).stream()
+                .map(tempRoot::resolve)
+                .filter(temp -> olderThan(temp, cutoff))
+                .forEach(FileSystemAttachmentStorage::deleteQuietly);
+    }
+
+    private ReentrantLock lockFor(String savedName) {
+        return locks[Math.floorMod(savedName.hashCode(), locks.length)];
+    }
+
+    private Path blobPath(String hash) {    // ab/cd/abcd... 두 단계로 나눠 디렉토리당 파일 수 제한
+        return blobRoot.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static boolean olderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
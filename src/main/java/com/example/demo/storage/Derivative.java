@@ -0,0 +1,33 @@
+package com.example.demo.storage;
+
+/**
+ * 원본 옆에 "{저장 파일명}{접미사}" 이름으로 두는 파생 파일. 원본이 삭제되면 함께 삭제된다.
+ */
+public enum Derivative {
+    THUMBNAIL(".thumb.jpg"),    // 이미지 썸네일
+    PREVIEW(".preview.jpg"),    // 이미지 미리보기 (본문 표시용)
+    GZIP(".gz");                // 텍스트류 첨부파일의 미리 압축해 둔 사본 (Content-Encoding: gzip으로 전송)
+
+    private final String suffix;
+
+    Derivative(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public String nameFor(String savedName) {
+        return savedName + suffix;
+    }
+
+    public static boolean isDerivative(String fileName) {
+        for (Derivative derivative : values()) {
+            if (fileName.endsWith(derivative.suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.demo.dto.StoredFile;
+
+/**
+ * 로컬 디스크 저장소 공통 부분.
+ * 멀티파트 업로드는 컨테이너가 이미 임시 파일로 받아 둔 상태이므로(spring.servlet.multipart.file-size-threshold 기본값 0),
+ * 그 파일을 고정 크기 버퍼로 읽기만 하면서 SHA-256을 계산하고, 저장 위치로는 MultipartFile.transferTo로 옮긴다.
+ * Tomcat은 임시 파일이 같은 파일 시스템에 있으면 이름만 바꾸므로 업로드 한 건당 디스크 쓰기는 한 번이다
+ * (spring.servlet.multipart.location이 다른 볼륨이거나 메모리에 받은 작은 파트면 한 번 쓴다).
+ * 해시를 스트리밍 중에 계산하려면 멀티파트 파싱을 직접 해야 해서 컨테이너의 크기 제한/정리 기능을 잃으므로 이 방식을 택했다.
+ */
+abstract class FileSystemAttachmentStorage implements AttachmentStorage {
+
+    private static final int UPLOAD_BUFFER_SIZE = 64 * 1024;   // 해시 계산용 읽기 버퍼 (파일 크기와 상관없이 고정)
+
+    protected final Path root;
+
+    protected FileSystemAttachmentStorage(Path root) throws IOException {
+        this.root = root.toAbsolutePath();
+        Files.createDirectories(this.root);     // 업로드 경로 생성 (최초 한번만 실행)
+    }
+
+    protected static String originalName(MultipartFile file) {
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null || originalFilename.isEmpty()) {
+            throw new RuntimeException("파일 이름이 유효하지 않습니다.");
+        }
+        return originalFilename;
+    }
+
+    protected StoredFile copy(MultipartFile file, Path target, String savedName) {   // target으로 옮김, savedName이 null이면 해시를 이름으로 사용
+        String originalFilename = originalName(file);
+        MessageDigest digest = sha256();
+        long size = 0;
+        byte[] buffer = new byte[UPLOAD_BUFFER_SIZE];
+        if (Files.exists(target)) {     // 덮어쓰지 않음 (UUID/임시 이름이라 실제로는 발생하지 않음)
+            throw new RuntimeException("파일 저장 중 오류가 발생했습니다.", new FileAlreadyExistsException(target.toString()));
+        }
+        try {
+            try (InputStream in = file.getInputStream()) {  // 컨테이너 임시 파일에서 읽기만 함
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    size += read;
+                }
+            }
+            file.transferTo(target.toFile());   // File 버전은 Part.write로 이름 변경 (Path 버전은 항상 스트림 복사)
+        } catch (IOException e) {
+            deleteQuietly(target);  // 쓰다 만 파일 삭제
+            throw new RuntimeException("파일 저장 중 오류가 발생했습니다.", e);
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        return StoredFile.builder()
+                .savedName(savedName != null ? savedName : hash)
+                .originalName(originalFilename)
+                .size(size)
+                .contentHash(hash)
+                .build();
+    }
+
+    @Override
+    public void delete(String savedName) {
+        try {
+            for (Derivative derivative : Derivative.values()) {
+                Files.deleteIfExists(resolve(savedName, derivative));
+            }
+            Files.deleteIfExists(resolve(savedName)); // 파일 삭제
+        } catch (IOException e) {
+            throw new RuntimeException("첨부파일 삭제 중 오류 발생", e);
+        }
+    }
+
+    protected static List<String> listFiles(Path dir) {    // dir 바로 아래의 원본 파일 이름
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> file.getFileName().toString())
+                    .filter(name -> !Derivative.isDerivative(name))
+                    .toList();
+        } catch (IOException e) {
+            throw new RuntimeException("첨부파일 목록 조회 중 오류 발생", e);
+        }
+    }
+
+    protected static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 남은 파일은 고아 파일로 남음
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);   // 모든 JVM이 SHA-256을 지원하므로 발생하지 않음
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.demo.dto.StoredFile;
+
+/**
+ * 업로드마다 uploads/{시간}_{UUID} 파일을 새로 만드는 기존 방식 저장소.
+ */
+@Component
+@ConditionalOnProperty(name = "board.storage.type", havingValue = "local")
+public class LocalAttachmentStorage extends FileSystemAttachmentStorage {
+
+    public LocalAttachmentStorage(@Value("${board.storage.root:uploads}") String root) throws IOException {
+        super(Paths.get(root));
+    }
+
+    @Override
+    public StoredFile store(MultipartFile file) {
+        String safeFilename = System.currentTimeMillis() + "_" + UUID.randomUUID().toString();   // 고유한 파일명 생성
+        return copy(file, root.resolve(safeFilename), safeFilename);
+    }
+
+    @Override
+    public Path resolve(String savedName) {
+        return root.resolve(savedName);
+    }
+
+    @Override
+    public void release(String savedName) {     // 파일 이름이 업로드마다 달라 공유되지 않으므로 바로 삭제
+        delete(savedName);
+    }
+
+    @Override
+    public List<String> list() {
+        return listFiles(root);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 업로드 디렉토리 상태 (readiness 그룹에 포함). 쓰기 가능하고 여유 공간이 board.storage.min-free-space 이상이어야 UP.
+ */
+@Component("uploadStorage")
+public class UploadStorageHealthIndicator implements HealthIndicator {
+
+    private final Path root;
+    private final DataSize minFreeSpace;
+
+    public UploadStorageHealthIndicator(@Value("${board.storage.root:uploads}") String root,
+                                        @Value("${board.storage.min-free-space:1GB}") DataSize minFreeSpace) {
+        this.root = Paths.get(root).toAbsolutePath();
+        this.minFreeSpace = minFreeSpace;
+    }
+
+    @Override
+    public Health health() {
+        if (!Files.isDirectory(root) || !Files.isWritable(root)) {
+            return Health.down().withDetail("path", root.toString()).withDetail("error", "쓰기 불가").build();
+        }
+        try {
+            long free = Files.getFileStore(root).getUsableSpace();
+            Health.Builder builder = free >= minFreeSpace.toBytes() ? Health.up() : Health.down();
+            return builder.withDetail("path", root.toString())
+                    .withDetail("free", free)
+                    .withDetail("threshold", minFreeSpace.toBytes())
+                    .build();
+        } catch (IOException e) {
+            return Health.down(e).withDetail("path", root.toString()).build();
+        }
+    }
+}
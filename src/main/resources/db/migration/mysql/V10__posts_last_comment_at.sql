@@ -0,0 +1,6 @@
+-- 마지막 댓글 작성/수정/삭제 시각 (상세 페이지 ETag/Last-Modified를 댓글 행을 읽지 않고 계산)
+-- PostService가 댓글 저장/수정/삭제와 같은 트랜잭션에서 갱신한다.
+
+alter table posts add column last_comment_at datetime(6);
+
+update posts p set p.last_comment_at = (select max(coalesce(c.updated_at, c.created_at)) from comments c where c.post_id = p.id);
@@ -0,0 +1,45 @@
+-- 기준 스키마: 이 마이그레이션 도입 전 Hibernate ddl-auto가 엔티티로 만들던 스키마 그대로 (ID는 AUTO_INCREMENT)
+-- 이미 테이블이 있는 DB는 spring.flyway.baseline-on-migrate로 이 버전을 적용된 것으로 표시하고 V2부터 실행한다.
+-- 이후 추가된 컬럼/테이블은 모두 V2 이후 스크립트에 있다.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    role enum ('ROLE_USER','ROLE_ADMIN'),
+    username varchar(255),
+    primary key (id),
+    constraint uk_users_email unique (email),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table posts (
+    id bigint not null auto_increment,
+    views integer not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    author varchar(255),
+    content varchar(255),
+    title varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table comments (
+    id bigint not null auto_increment,
+    created_at datetime(6),
+    post_id bigint,
+    author varchar(255),
+    content varchar(255),
+    primary key (id),
+    constraint fk_comments_post foreign key (post_id) references posts (id)
+) engine=InnoDB;
+
+create table attachment (
+    id bigint not null auto_increment,
+    post_id bigint,
+    original_name varchar(255),
+    saved_name varchar(255),
+    primary key (id),
+    constraint fk_attachment_post foreign key (post_id) references posts (id)
+) engine=InnoDB;
@@ -0,0 +1,13 @@
+-- 게시물별 댓글/첨부파일 수 카운터 컬럼 (PostRepository.adjustCommentCount / adjustAttachmentCount로 증감)
+
+alter table posts
+    add column comment_count integer default 0 not null,
+    add column attachment_count integer default 0 not null;
+
+-- PostRepository.findMostDiscussed: order by comment_count desc, id desc
+create index idx_posts_comment_count on posts (comment_count, id);
+
+-- 기존 게시물의 카운터 채우기 (이후 값은 애플리케이션이 증감, 어긋나면 PostCounterRepairJob이 보정)
+update posts p set
+    p.comment_count = (select count(*) from comments c where c.post_id = p.id),
+    p.attachment_count = (select count(*) from attachment a where a.post_id = p.id);
@@ -0,0 +1,8 @@
+-- 첨부파일 크기, 내용 해시(내용 주소 저장소), 이미지 썸네일/미리보기 파일명
+-- 기존 행은 null (다운로드 시 파일 크기는 저장소에서 읽음, 파생 이미지는 없음)
+
+alter table attachment
+    add column size bigint,
+    add column content_hash varchar(64),
+    add column thumbnail_name varchar(255),
+    add column preview_name varchar(255);
@@ -0,0 +1,3 @@
+-- 댓글 수정 시각 (상세 페이지 ETag/Last-Modified), 수정한 적 없는 댓글은 null
+
+alter table comments add column updated_at datetime(6);
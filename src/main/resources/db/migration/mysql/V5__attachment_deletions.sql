@@ -0,0 +1,9 @@
+-- 첨부파일 삭제 대기열 (게시물 삭제 트랜잭션에서 기록, AttachmentDeletionWorker가 커밋 후 파일 삭제)
+
+create table attachment_deletions (
+    id bigint not null auto_increment,
+    attempts integer not null,
+    created_at datetime(6),
+    saved_name varchar(255),
+    primary key (id)
+) engine=InnoDB;
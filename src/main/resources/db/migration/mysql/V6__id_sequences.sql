@@ -0,0 +1,8 @@
+-- 테이블 기반 ID 생성기 (IdGenerators), 행은 IdSequenceInitializer가 테이블별 MAX(id) 이후 값으로 추가한다.
+-- 기존 AUTO_INCREMENT 컬럼은 그대로 두며, 엔티티는 ID를 직접 지정해 INSERT 한다 (JDBC batch 가능).
+
+create table id_sequences (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+) engine=InnoDB;
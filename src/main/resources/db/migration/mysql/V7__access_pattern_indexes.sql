@@ -0,0 +1,15 @@
+-- 저장소 쿼리의 조건/정렬 순서에 맞춘 복합 인덱스 (RepositoryExplainTests가 EXPLAIN으로 확인)
+
+-- PostRepository.findLatest / findOlderThan / findNewerThan: order by created_at, id (keyset)
+create index idx_posts_created_at on posts (created_at, id);
+
+-- 작성자별 게시물 (author = ? order by created_at)
+create index idx_posts_author_created_at on posts (author, created_at);
+
+-- CommentRepository.findFirstPage / findAfter: post_id = ? order by created_at, id (정렬 없이 인덱스 순서로 읽음)
+-- 외래 키(post_id)도 이 인덱스를 사용
+create index idx_comments_post_created_at on comments (post_id, created_at);
+
+-- AttachmentRepository.existsBySavedName: 파일 정리 시 저장 파일 참조 여부 확인
+-- (findByPostIdOrderByIdAsc는 외래 키 인덱스 post_id + 기본 키로 처리)
+create index idx_attachment_saved_name on attachment (saved_name);
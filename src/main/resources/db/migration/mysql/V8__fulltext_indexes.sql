@@ -0,0 +1,7 @@
+-- MySQL 검색(board.search.type=mysql, MysqlFulltextSearchIndex)용 FULLTEXT 인덱스
+-- 한국어는 띄어쓰기 단위로 나뉘지 않으므로 ngram 파서 (ngram_token_size 기본 2)
+-- 큰 테이블에서는 InnoDB가 인덱스를 만드는 동안 시간이 걸리므로 배포 전에 확인할 것
+
+alter table posts add fulltext index ft_posts_title_content (title, content) with parser ngram;
+
+alter table comments add fulltext index ft_comments_content (content) with parser ngram;
@@ -0,0 +1,12 @@
+-- 로그인 세션 저장소 (JdbcSessionStore, board.session.store=jdbc)
+-- data: 아이디 + 권한만 담은 바이너리 (SessionCodec), last_access_at: 마지막 접근 시각 (epoch ms)
+
+create table user_sessions (
+    id char(43) not null,
+    data varbinary(512) not null,
+    last_access_at bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- 오래된 세션 정리: last_access_at < ? (SessionEvictionJob)
+create index idx_user_sessions_last_access_at on user_sessions (last_access_at);
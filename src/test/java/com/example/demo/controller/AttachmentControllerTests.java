@@ -0,0 +1,129 @@
+package com.example.demo.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.demo.model.Attachment;
+import com.example.demo.repository.AttachmentRepository;
+import com.example.demo.service.AttachmentCompressor;
+import com.example.demo.service.AttachmentMetrics;
+import com.example.demo.storage.AttachmentStorage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AttachmentControllerTests {
+
+	private static final String BODY = "abcdefghijklmnopqrstuvwxyz";	// 26바이트
+	private static final String HASH = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+	private static final String ETAG = "\"" + HASH + "\"";
+
+	@TempDir
+	Path root;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		Path file = Files.writeString(root.resolve(HASH), BODY, StandardCharsets.US_ASCII);
+		AttachmentRepository attachmentRepository = mock(AttachmentRepository.class);
+		when(attachmentRepository.findById(1L)).thenReturn(Optional.of(Attachment.builder()
+				.id(1L)
+				.savedName(HASH)
+				.originalName("data.bin")	// 압축 대상이 아닌 형식
+				.contentHash(HASH)
+				.build()));
+		AttachmentStorage attachmentStorage = mock(AttachmentStorage.class);
+		when(attachmentStorage.resolve(HASH)).thenReturn(file);
+		AttachmentCompressor attachmentCompressor = mock(AttachmentCompressor.class);
+		AttachmentMetrics attachmentMetrics = new AttachmentMetrics(new SimpleMeterRegistry());
+		mockMvc = MockMvcBuilders.standaloneSetup(
+				new AttachmentController(attachmentRepository, attachmentStorage, attachmentMetrics, attachmentCompressor)).build();
+	}
+
+	@Test
+	void fullDownloadAdvertisesRanges() throws Exception {
+		mockMvc.perform(get("/download").param("no", "1"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+				.andExpect(header().string(HttpHeaders.ETAG, ETAG))
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 26))
+				.andExpect(content().string(BODY));
+	}
+
+	@Test
+	void singleRange() throws Exception {
+		mockMvc.perform(get("/download").param("no", "1").header(HttpHeaders.RANGE, "bytes=2-5"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/26"))
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+				.andExpect(content().string("cdef"));
+	}
+
+	@Test
+	void suffixRange() throws Exception {
+		mockMvc.perform(get("/download").param("no", "1").header(HttpHeaders.RANGE, "bytes=-3"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 23-25/26"))
+				.andExpect(content().string("xyz"));
+	}
+
+	@Test
+	void multipleRanges() throws Exception {
+		mockMvc.perform(get("/download").param("no", "1").header(HttpHeaders.RANGE, "bytes=0-1,24-25"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("multipart/byteranges; boundary=")))
+				.andExpect(content().string(containsString("Content-Range: bytes 0-1/26\r\n\r\nab\r\n")))
+				.andExpect(content().string(containsString("Content-Range: bytes 24-25/26\r\n\r\nyz\r\n")));
+	}
+
+	@Test
+	void unsatisfiableRange() throws Exception {
+		mockMvc.perform(get("/download").param("no", "1").header(HttpHeaders.RANGE, "bytes=100-200"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */26"));
+	}
+
+	@Test
+	void staleIfRangeSendsWholeFile() throws Exception {
+		mockMvc.perform(get("/download").param("no", "1")
+						.header(HttpHeaders.RANGE, "bytes=2-5")
+						.header(HttpHeaders.IF_RANGE, "\"stale\""))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+				.andExpect(content().string(BODY));
+	}
+
+	@Test
+	void matchingIfRangeSendsRange() throws Exception {
+		mockMvc.perform(get("/download").param("no", "1")
+						.header(HttpHeaders.RANGE, "bytes=2-5")
+						.header(HttpHeaders.IF_RANGE, ETAG))
+				.andExpect(status().isPartialContent())
+				.andExpect(content().string("cdef"));
+	}
+
+	@Test
+	void matchingEtagIsNotModified() throws Exception {
+		mockMvc.perform(get("/download").param("no", "1").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+}
@@ -0,0 +1,233 @@
+package com.example.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Flyway 마이그레이션을 적용한 MySQL에서 저장소 쿼리를 실행하고, 실행된 SQL을 같은 파라미터로 EXPLAIN 해
+ * 전체 테이블 스캔(type=ALL)이 있으면 실패한다. Docker가 없으면 건너뛴다.
+ * 게시물 수(PostCountCache의 count)는 의도된 전체 스캔이라 제외한다.
+ */
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=true",
+		"spring.flyway.locations=classpath:db/migration/{vendor}",
+		"spring.jpa.hibernate.ddl-auto=validate"	// 마이그레이션 결과가 엔티티와 맞는지도 확인
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)	// 시드 데이터를 커밋해야 통계(ANALYZE)에 반영됨
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(RepositoryExplainTests.CaptureConfig.class)
+class RepositoryExplainTests {
+
+	private static final int POSTS = 2000;
+	private static final int COMMENTS_PER_POST = 5;
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	@Container
+	@ServiceConnection
+	static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4");
+
+	static final QueryRecorder recorder = new QueryRecorder();
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private AttachmentRepository attachmentRepository;
+
+	@Autowired
+	private AttachmentDeletionRepository attachmentDeletionRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@BeforeAll
+	void seed() {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		List<Object[]> posts = new ArrayList<>();
+		List<Object[]> comments = new ArrayList<>();
+		List<Object[]> attachments = new ArrayList<>();
+		for (long id = 1; id <= POSTS; id++) {
+			Timestamp createdAt = Timestamp.valueOf(START.plusMinutes(id));
+			posts.add(new Object[] { id, "제목 " + id, "내용 " + id, "user" + (id % 50), id % 7, createdAt });
+			for (int c = 0; c < COMMENTS_PER_POST; c++) {
+				comments.add(new Object[] { (id - 1) * COMMENTS_PER_POST + c + 1, "댓글 " + c, "user" + c, createdAt, id });
+			}
+			attachments.add(new Object[] { id, "saved-" + id, "file-" + id + ".txt", id });
+		}
+		jdbc.batchUpdate("INSERT INTO posts (id, title, content, author, views, comment_count, attachment_count, created_at) VALUES (?, ?, ?, ?, 0, ?, 1, ?)", posts);
+		jdbc.batchUpdate("INSERT INTO comments (id, content, author, created_at, post_id) VALUES (?, ?, ?, ?, ?)", comments);
+		jdbc.batchUpdate("INSERT INTO attachment (id, saved_name, original_name, size, post_id) VALUES (?, ?, ?, 100, ?)", attachments);
+		for (int i = 1; i <= 300; i++) {
+			jdbc.update("INSERT INTO attachment_deletions (id, saved_name, created_at, attempts) VALUES (?, ?, ?, 0)", i, "deleted-" + i, Timestamp.valueOf(START));
+		}
+		for (long id = 1; id <= 200; id++) {
+			jdbc.update("INSERT INTO users (id, username, email, password, name, role) VALUES (?, ?, ?, 'x', ?, 'ROLE_USER')",
+					id, "user" + id, "user" + id + "@example.com", "이름" + id);
+		}
+		jdbc.execute("ANALYZE TABLE posts, comments, attachment, attachment_deletions, users");
+	}
+
+	@TestFactory
+	Stream<DynamicTest> repositoryQueriesUseIndexes() {
+		LocalDateTime cursor = START.plusMinutes(1000);
+		return Stream.of(
+				query("PostRepository.findLatest", () -> postRepository.findLatest(PageRequest.of(0, 10))),
+				query("PostRepository.findMostDiscussed", () -> postRepository.findMostDiscussed(PageRequest.of(0, 10))),
+				query("PostRepository.findOlderThan", () -> postRepository.findOlderThan(cursor, 1000L, PageRequest.of(0, 11))),
+				query("PostRepository.findNewerThan", () -> postRepository.findNewerThan(cursor, 1000L, PageRequest.of(0, 11))),
+				query("PostRepository.findById", () -> postRepository.findById(1000L)),
+				query("PostRepository.existsByIdAndAuthor", () -> postRepository.existsByIdAndAuthor(1000L, "user0")),
+				query("PostRepository.findVersionById", () -> postRepository.findVersionById(1000L)),
+				query("PostRepository.findByIdGreaterThanOrderByIdAsc", () -> postRepository.findByIdGreaterThanOrderByIdAsc(500L, PageRequest.of(0, 100))),
+				query("PostRepository.adjustCommentCount", () -> postRepository.adjustCommentCount(1000L, 0, START)),
+				query("PostRepository.touchLastCommentAt", () -> postRepository.touchLastCommentAt(1000L, START)),
+				query("CommentRepository.findFirstPage", () -> commentRepository.findFirstPage(1000L, PageRequest.of(0, 50))),
+				query("CommentRepository.findAfter", () -> commentRepository.findAfter(1000L, cursor, 4998L, PageRequest.of(0, 50))),
+				query("CommentRepository.findTextByPostIdIn", () -> commentRepository.findTextByPostIdIn(List.of(1000L, 1001L, 1002L, 1003L, 1004L))),
+				query("CommentRepository.findTextById", () -> commentRepository.findTextById(1L)),
+				query("AttachmentRepository.findByPostIdOrderByIdAsc", () -> attachmentRepository.findByPostIdOrderByIdAsc(1000L)),
+				query("AttachmentRepository.existsBySavedName", () -> attachmentRepository.existsBySavedName("saved-1000")),
+				query("AttachmentRepository.findByIdGreaterThanOrderByIdAsc", () -> attachmentRepository.findByIdGreaterThanOrderByIdAsc(500L, PageRequest.of(0, 100))),
+				query("AttachmentRepository.updateDerivatives", () -> attachmentRepository.updateDerivatives(1000L, null, null)),
+				query("AttachmentDeletionRepository.findTop100ByOrderByIdAsc", () -> attachmentDeletionRepository.findTop100ByOrderByIdAsc()),
+				query("UserRepository.findByUsername", () -> userRepository.findByUsername("user100")),
+				query("UserRepository.existsByUsername", () -> userRepository.existsByUsername("user100")),
+				query("UserRepository.existsByEmail", () -> userRepository.existsByEmail("user100@example.com")),
+				query("UserRepository.findByUsernamePrefix", () -> userRepository.findByUsernamePrefix("user1%", "user100", PageRequest.of(0, 51))),
+				query("UserRepository.findByEmailPrefix", () -> userRepository.findByEmailPrefix("user1%", "", PageRequest.of(0, 51))),
+				query("UserRepository.findExportBatch", () -> userRepository.findExportBatch(100L, PageRequest.of(0, 1000))));
+	}
+
+	private DynamicTest query(String name, Runnable call) {
+		return DynamicTest.dynamicTest(name, () -> {
+			recorder.start();
+			call.run();
+			List<QueryInfo> executed = recorder.stop();
+			assertThat(executed).as("실행된 SQL").isNotEmpty();
+			for (QueryInfo info : executed) {
+				assertThat(fullScans(info)).as(info.getQuery()).isEmpty();
+			}
+		});
+	}
+
+	private List<String> fullScans(QueryInfo info) throws SQLException {	// 같은 SQL, 같은 파라미터로 EXPLAIN
+		List<String> fullScans = new ArrayList<>();
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement explain = connection.prepareStatement("EXPLAIN " + info.getQuery())) {
+			if (!info.getParametersList().isEmpty()) {
+				for (ParameterSetOperation operation : info.getParametersList().get(0)) {
+					Object[] args = operation.getArgs();
+					if ("setNull".equals(operation.getMethod().getName())) {
+						explain.setNull((Integer) args[0], (Integer) args[1]);
+					} else {
+						explain.setObject((Integer) args[0], args[1]);
+					}
+				}
+			}
+			try (ResultSet plan = explain.executeQuery()) {
+				while (plan.next()) {
+					if ("ALL".equals(plan.getString("type"))) {
+						fullScans.add(plan.getString("table") + ": " + plan.getString("Extra"));
+					}
+				}
+			}
+		}
+		return fullScans;
+	}
+
+	static class QueryRecorder implements QueryExecutionListener {	// start()와 stop() 사이에 실행된 SELECT/UPDATE/DELETE
+
+		private final List<QueryInfo> queries = new CopyOnWriteArrayList<>();
+		private volatile boolean recording;
+
+		void start() {
+			queries.clear();
+			recording = true;
+		}
+
+		List<QueryInfo> stop() {
+			recording = false;
+			return List.copyOf(queries);
+		}
+
+		@Override
+		public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		}
+
+		@Override
+		public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+			if (!recording || !execInfo.isSuccess()) {
+				return;
+			}
+			for (QueryInfo info : queryInfoList) {
+				String sql = info.getQuery().stripLeading().toLowerCase();
+				if (sql.startsWith("select") || sql.startsWith("update") || sql.startsWith("delete")) {
+					queries.add(info);
+				}
+			}
+		}
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class CaptureConfig {
+
+		@Bean
+		static BeanPostProcessor queryCapturingDataSource() {	// 애플리케이션 DataSource를 datasource-proxy로 감쌈
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof DataSource dataSource) {
+						return ProxyDataSourceBuilder.create(dataSource).name(beanName).listener(recorder).build();
+					}
+					return bean;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.demo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.example.demo.dto.PostDetailView;
+import com.example.demo.model.Attachment;
+import com.example.demo.model.Comment;
+import com.example.demo.model.Post;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(PostDetailService.class)
+class PostDetailServiceTests {
+
+	@Autowired
+	private PostDetailService postDetailService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void statementCountStaysConstantAsCommentsGrow() {
+		Post post = entityManager.persist(Post.builder()
+				.title("제목")
+				.content("내용")
+				.author("writer")
+				.createdAt(LocalDateTime.now())
+				.build());
+		entityManager.persist(Attachment.builder().post(post).savedName("saved").originalName("file.txt").build());
+
+		addComments(post, 1);
+		long withOneComment = countStatements(post.getId(), 1);
+
+		addComments(post, 999);
+		long withThousandComments = countStatements(post.getId(), 50);	// 첫 댓글 페이지만 (board.comments.page-size 기본값)
+
+		assertThat(withThousandComments).isEqualTo(withOneComment);
+	}
+
+	private void addComments(Post post, int count) {
+		for (int i = 0; i < count; i++) {
+			entityManager.persist(Comment.builder()
+					.content("댓글 " + i)
+					.author("commenter")
+					.createdAt(LocalDateTime.now())
+					.post(post)
+					.build());
+		}
+	}
+
+	private long countStatements(Long postId, int expectedComments) {
+		entityManager.flush();
+		entityManager.clear();
+		Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		PostDetailView view = postDetailService.getPostDetail(postId);
+
+		assertThat(view.getComments()).hasSize(expectedComments);
+		assertThat(view.getAttachments()).hasSize(1);
+		return statistics.getPrepareStatementCount();
+	}
+}
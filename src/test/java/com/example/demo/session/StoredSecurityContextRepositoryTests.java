@@ -0,0 +1,155 @@
+package com.example.demo.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import jakarta.servlet.http.Cookie;
+
+class StoredSecurityContextRepositoryTests {
+
+	private static final String COOKIE = "BOARD_SESSION";
+
+	private final MutableClock clock = new MutableClock();
+	private final InMemorySessionStore sessionStore = new InMemorySessionStore(Duration.ofMinutes(30), clock);
+	private final StoredSecurityContextRepository repository = new StoredSecurityContextRepository(sessionStore, COOKIE);
+
+	@Test
+	void loginIssuesCookieThatLoadsTheSameUser() {
+		String sessionId = login(null, "alice");
+
+		assertThat(sessionStore.find(sessionId)).isPresent();
+		MockHttpServletRequest request = requestWith(sessionId);
+		assertThat(repository.containsContext(request)).isTrue();
+		DeferredSecurityContext context = repository.loadDeferredContext(request);
+		assertThat(context.isGenerated()).isFalse();
+		Authentication authentication = context.get().getAuthentication();
+		assertThat(authentication.getName()).isEqualTo("alice");
+		assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+	}
+
+	@Test
+	void reloginReplacesSessionId() {
+		String first = login(null, "alice");
+		String second = login(first, "alice");		// 기존 쿠키를 가진 채로 다시 로그인
+
+		assertThat(second).isNotEqualTo(first);
+		assertThat(sessionStore.find(first)).isEmpty();
+		assertThat(repository.loadDeferredContext(requestWith(first)).isGenerated()).isTrue();		// 예전 ID로는 로그인 상태가 아님
+		assertThat(repository.loadDeferredContext(requestWith(second)).get().getAuthentication().getName()).isEqualTo("alice");
+	}
+
+	@Test
+	void logoutDeletesSessionAndExpiresCookie() {
+		String sessionId = login(null, "alice");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		repository.saveContext(new SecurityContextImpl(), requestWith(sessionId), response);	// 로그아웃은 빈 컨텍스트 저장
+
+		assertThat(sessionStore.find(sessionId)).isEmpty();
+		Cookie cookie = response.getCookie(COOKIE);
+		assertThat(cookie).isNotNull();
+		assertThat(cookie.getValue()).isEmpty();
+		assertThat(cookie.getMaxAge()).isZero();
+	}
+
+	@Test
+	void idleSessionExpires() {
+		String active = login(null, "alice");
+		String idle = login(null, "bob");
+
+		clock.advance(Duration.ofMinutes(20));
+		assertThat(sessionStore.find(active)).isPresent();	// 접근하면 유휴 시간이 다시 시작됨
+		clock.advance(Duration.ofMinutes(15));
+
+		assertThat(repository.loadDeferredContext(requestWith(idle)).isGenerated()).isTrue();	// 35분 동안 접근 없음
+		assertThat(sessionStore.find(idle)).isEmpty();
+		assertThat(sessionStore.find(active)).isPresent();
+		clock.advance(Duration.ofMinutes(31));
+		assertThat(sessionStore.evictIdle(Duration.ofMinutes(30))).isEqualTo(1);	// 주기 정리 (SessionEvictionJob)
+		assertThat(sessionStore.find(active)).isEmpty();
+	}
+
+	@Test
+	void everyAuthorityIsRestored() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveContext(new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated("admin", null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")))), new MockHttpServletRequest(), response);
+
+		Authentication authentication = repository.loadDeferredContext(requestWith(response.getCookie(COOKIE).getValue())).get().getAuthentication();
+		assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER", "ROLE_ADMIN");
+	}
+
+	@Test
+	void storeIsReadOncePerRequest() {
+		String sessionId = login(null, "alice");
+		MockHttpServletRequest request = requestWith(sessionId);
+		assertThat(repository.loadDeferredContext(request).get().getAuthentication()).isNotNull();
+
+		sessionStore.delete(sessionId);		// 같은 요청 안에서는 다시 조회하지 않음
+
+		assertThat(repository.containsContext(request)).isTrue();
+		assertThat(repository.containsContext(requestWith(sessionId))).isFalse();
+	}
+
+	private String login(String currentSessionId, String username) {	// 새로 발급된 세션 ID 반환
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveContext(authenticated(username), requestWith(currentSessionId), response);
+		Cookie cookie = response.getCookie(COOKIE);
+		assertThat(cookie).isNotNull();
+		assertThat(cookie.isHttpOnly()).isTrue();
+		return cookie.getValue();
+	}
+
+	private static SecurityContext authenticated(String username) {
+		return new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(username, null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+
+	private static MockHttpServletRequest requestWith(String sessionId) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		if (sessionId != null) {
+			request.setCookies(new Cookie(COOKIE, sessionId));
+		}
+		return request;
+	}
+}
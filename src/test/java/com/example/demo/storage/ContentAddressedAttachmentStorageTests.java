@@ -0,0 +1,88 @@
+package com.example.demo.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.example.demo.dto.StoredFile;
+import com.example.demo.repository.AttachmentRepository;
+
+class ContentAddressedAttachmentStorageTests {
+
+	private static final int ROUNDS = 200;
+
+	@TempDir
+	Path root;
+
+	@Test
+	void blobReusedByConcurrentUploadIsNotReleased() throws Exception {
+		AttachmentRepository attachmentRepository = mock(AttachmentRepository.class);
+		when(attachmentRepository.existsBySavedName(anyString())).thenReturn(false);	// 새 업로드의 행은 아직 커밋 전
+		ContentAddressedAttachmentStorage storage = new ContentAddressedAttachmentStorage(attachmentRepository, root.toString(), Duration.ofHours(1));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int i = 0; i < ROUNDS; i++) {
+				MockMultipartFile upload = new MockMultipartFile("file", "same.txt", "text/plain", ("같은 내용 " + i).getBytes(StandardCharsets.UTF_8));
+				String hash = storage.store(upload).getSavedName();
+				Path blob = storage.resolve(hash);
+				Files.setLastModifiedTime(blob, FileTime.from(Instant.now().minus(Duration.ofHours(2))));	// 유예 시간이 지난 마지막 참조
+
+				CyclicBarrier start = new CyclicBarrier(2);
+				CompletableFuture<StoredFile> stored = CompletableFuture.supplyAsync(() -> {
+					await(start);
+					return storage.store(upload);	// 같은 내용을 다시 올림 -> 기존 blob 재사용
+				}, executor);
+				CompletableFuture<Void> released = CompletableFuture.runAsync(() -> {
+					await(start);
+					storage.release(hash);		// 마지막 행 삭제
+				}, executor);
+				released.join();
+
+				assertThat(stored.join().getSavedName()).isEqualTo(hash);
+				assertThat(blob).as("%d번째 시도", i).exists();	// 새 업로드가 가리키는 blob은 남아 있어야 함
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void unreferencedBlobPastGracePeriodIsReleased() throws Exception {
+		AttachmentRepository attachmentRepository = mock(AttachmentRepository.class);
+		when(attachmentRepository.existsBySavedName(anyString())).thenReturn(false);
+		ContentAddressedAttachmentStorage storage = new ContentAddressedAttachmentStorage(attachmentRepository, root.toString(), Duration.ofHours(1));
+		String hash = storage.store(new MockMultipartFile("file", "a.txt", "text/plain", "내용".getBytes(StandardCharsets.UTF_8))).getSavedName();
+		Path blob = storage.resolve(hash);
+
+		storage.release(hash);
+		assertThat(blob).exists();	// 유예 시간 안
+
+		Files.setLastModifiedTime(blob, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+		storage.release(hash);
+		assertThat(blob).doesNotExist();
+	}
+
+	private static void await(CyclicBarrier barrier) {
+		try {
+			barrier.await();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}